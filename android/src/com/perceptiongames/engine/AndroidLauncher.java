@@ -7,10 +7,17 @@ import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 import com.perceptiongames.engine.Game;
 
 public class AndroidLauncher extends AndroidApplication {
+
+	// Devices with this many cores or fewer run the simulation at a lower rate, rendering still interpolates between ticks
+	private static final int LOW_END_CORES = 2;
+	private static final int LOW_END_TICK_RATE = 30;
+
 	@Override
 	protected void onCreate (Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 		AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
-		initialize(new Game(), config);
+
+		boolean lowEnd = Runtime.getRuntime().availableProcessors() <= LOW_END_CORES;
+		initialize(new Game(lowEnd ? LOW_END_TICK_RATE : Game.DEFAULT_TICK_RATE), config);
 	}
 }
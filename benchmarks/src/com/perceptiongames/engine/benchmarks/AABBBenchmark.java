@@ -0,0 +1,49 @@
+package com.perceptiongames.engine.benchmarks;
+
+import com.perceptiongames.engine.Entities.AABB;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The narrowphase tests every collision goes through
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AABBBenchmark {
+
+    private AABB body;
+    private AABB apart;
+    private AABB touching;
+    private AABB sensor;
+
+    @Setup
+    public void setup() {
+        body = new AABB(100, 100, 16, 32);
+        apart = new AABB(400, 400, 40, 40);
+        touching = new AABB(140, 150, 40, 40);
+
+        sensor = new AABB(110, 110, 7, 7);
+        sensor.setSensor(true);
+    }
+
+    @Benchmark
+    public boolean overlapsApart() { return body.overlaps(apart); }
+
+    @Benchmark
+    public boolean overlapsSensor() { return sensor.overlaps(body); }
+
+    // The body is pushed out each time, so it is put back first
+    @Benchmark
+    public boolean collide() {
+        body.setCentre(100, 100);
+        return body.overlaps(touching);
+    }
+
+    @Benchmark
+    public float sweep() { return body.sweep(300, 280, 400, 400, 40, 40); }
+}
@@ -0,0 +1,58 @@
+package com.perceptiongames.engine.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.perceptiongames.engine.Handlers.Animation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Advancing an animation and working out the region to draw for it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+
+    private Animation animation;
+    private Animation flipped;
+    private SpriteBatch batch;
+
+    @Setup
+    public void setup() {
+        animation = new Animation(Environment.blankTexture(448, 64), 1, 7, 0.08f);
+
+        flipped = new Animation(Environment.blankTexture(448, 64), 1, 7, 0.08f);
+        flipped.setFlipX(true);
+
+        batch = new SpriteBatch();
+    }
+
+    // The batch stays open for the whole iteration, it flushes to the null GL when full
+    @Setup(Level.Iteration)
+    public void begin() { batch.begin(); }
+
+    @TearDown(Level.Iteration)
+    public void end() { batch.end(); }
+
+    @Benchmark
+    public int update() {
+        animation.update(1 / 60f);
+        return animation.getCurrentFrame();
+    }
+
+    @Benchmark
+    public void updateAndRender() {
+        animation.update(1 / 60f);
+        animation.render(batch, 100, 100);
+    }
+
+    @Benchmark
+    public void updateAndRenderFlipped() {
+        flipped.update(1 / 60f);
+        flipped.render(batch, 100, 100);
+    }
+}
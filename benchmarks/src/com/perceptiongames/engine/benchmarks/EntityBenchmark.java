@@ -0,0 +1,64 @@
+package com.perceptiongames.engine.benchmarks;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.perceptiongames.engine.Entities.AABB;
+import com.perceptiongames.engine.Entities.Enemy;
+import com.perceptiongames.engine.Handlers.Animation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One enemy's update, patrolling and attacking
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityBenchmark {
+
+    private Enemy patrolling;
+    private Enemy attacking;
+
+    @Setup
+    public void setup() {
+        patrolling = createEnemy();
+        attacking = createEnemy();
+        attacking.playerDirection(1);
+    }
+
+    private Enemy createEnemy() {
+        Texture still = Environment.blankTexture(62, 62);
+        Texture move = Environment.blankTexture(372, 62);
+
+        Enemy enemy = new Enemy(new Animation(still, 1, 1, 10f), "idle", new AABB(400, 400, 31, 31),
+                new Random(Environment.SEED));
+        enemy.addAnimation(Enemy.ATTACK, "attack", new Animation(Environment.blankTexture(434, 62), 1, 7, 0.08f));
+        enemy.addAnimation(Enemy.RIGHT, "Right", new Animation(move, 1, 6, 0.5f));
+
+        Animation left = new Animation(move, 1, 6, 0.5f);
+        left.setFlipX(true);
+        enemy.addAnimation(Enemy.LEFT, "Left", left);
+
+        enemy.setWeapon(new AABB(100, 100, 7f, 7f));
+        return enemy;
+    }
+
+    // Put back each time so the enemies never walk into the edge of the world
+    @Benchmark
+    public float patrol() {
+        patrolling.setPosition(400, 400);
+        patrolling.update(1 / 60f);
+        return patrolling.getX();
+    }
+
+    @Benchmark
+    public float attack() {
+        attacking.setPosition(400, 400);
+        attacking.update(1 / 60f);
+        return attacking.getWeapon().getCentre().x;
+    }
+}
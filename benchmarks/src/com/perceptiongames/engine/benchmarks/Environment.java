@@ -0,0 +1,95 @@
+package com.perceptiongames.engine.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.perceptiongames.engine.Handlers.Content;
+import com.perceptiongames.engine.headless.NullGL;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Sets up libGDX for the benchmarks without a window <br>
+ *     An empty headless application provides the Gdx globals, the benchmarks themselves run on JMH's threads <br>
+ *     Files are read from the working directory, which should be the assets folder
+ */
+public final class Environment {
+
+    public static final long SEED = 1;
+
+    private static boolean booted = false;
+
+    private Environment() {}
+
+    /**
+     * Starts the headless application and swaps in the null GL, only does anything the first time it is called
+     */
+    public static synchronized void boot() {
+        if(booted) return;
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.renderInterval = 1f;
+        new HeadlessApplication(new ApplicationAdapter() {}, config);
+
+        GL20 gl = NullGL.create();
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+
+        booted = true;
+    }
+
+    /**
+     * Loads the textures the terrain generator needs
+     * @return The content holding them
+     */
+    public static Content loadTerrainContent() {
+        boot();
+
+        Content content = new Content();
+        content.loadAtlas("Atlas/textures.atlas");
+        content.loadRooms("Rooms");
+        content.loadRegion("SpearBlock", "Terrain/SpearBlock.png");
+        content.loadRegion("Ladder", "Terrain/Ladder.png");
+        content.loadRegion("EndDoor", "Terrain/EndDoor.png");
+        content.loadRegion("BrokenWall", "Terrain/BrokenWall1.png");
+        content.loadRegion("BrokenWall1", "Terrain/BrokenWall2.png");
+        content.loadRegion("BrokenWall2", "Terrain/BrokenWall3.png");
+        content.loadRegion("Spikes", "Terrain/Spikes.png");
+        content.loadRegion("Amulet", "Terrain/Amulet.png");
+
+        for (int i = 0; i < 3; i++) {
+            String suffix = i == 0 ? "" : String.valueOf(i + 1);
+            content.loadRegion("Enemy" + i, "Soldier" + suffix + ".png");
+            content.loadRegion("EnemyMove" + i, "Soldier" + suffix + "Move.png");
+            content.loadRegion("EnemyAttack" + i, "Soldier" + suffix + "Attack.png");
+        }
+
+        return content;
+    }
+
+    /**
+     * Creates a blank texture, for benchmarks which don't care what is drawn
+     * @param width The width of the texture
+     * @param height The height of the texture
+     * @return The texture
+     */
+    public static Texture blankTexture(int width, int height) {
+        boot();
+        return new Texture(new Pixmap(width, height, Pixmap.Format.RGBA8888));
+    }
+
+    /**
+     * Stops anything being printed, the terrain generator prints every level it makes
+     */
+    public static void silence() {
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {}
+        }));
+    }
+}
@@ -0,0 +1,74 @@
+package com.perceptiongames.engine.benchmarks;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.perceptiongames.engine.Entities.Enemy;
+import com.perceptiongames.engine.Handlers.Terrain.TerrainGenerator;
+import com.perceptiongames.engine.Handlers.Terrain.TileGrid;
+import com.perceptiongames.engine.Handlers.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full terrain collision pass over a generated level, as Play does each tick
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TerrainCollisionBenchmark {
+
+    private World world;
+    private TileGrid grid;
+    private List<Enemy> bodies;
+
+    private float[] startX;
+    private float[] startY;
+
+    @Setup
+    public void setup() {
+        Environment.silence();
+
+        TerrainGenerator generator = new TerrainGenerator(Environment.loadTerrainContent(), Environment.SEED);
+        world = new World(generator.getTerrain());
+        grid = world.getGrid();
+
+        bodies = generator.getEnemies();
+        world.addDynamic(bodies);
+
+        startX = new float[bodies.size()];
+        startY = new float[bodies.size()];
+        for (int i = 0; i < bodies.size(); i++) {
+            startX[i] = bodies.get(i).getX();
+            startY[i] = bodies.get(i).getY();
+        }
+    }
+
+    // Every body moves the same distance from where it started, so each pass does the same work
+    @Benchmark
+    public int step() {
+        for (int i = 0; i < bodies.size(); i++) {
+            Enemy body = bodies.get(i);
+            body.setPosition(startX[i], startY[i]);
+            body.storePosition();
+            body.setPosition(startX[i] + 2, startY[i] + 12);
+        }
+
+        world.step();
+        return world.getTerrainContacts().size;
+    }
+
+    @Benchmark
+    public int query() {
+        int cells = 0;
+        for (int i = 0; i < bodies.size(); i++) {
+            IntArray covered = grid.query(bodies.get(i).getAABB());
+            cells += covered.size;
+        }
+
+        return cells;
+    }
+}
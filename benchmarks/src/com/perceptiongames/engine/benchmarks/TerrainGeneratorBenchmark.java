@@ -0,0 +1,33 @@
+package com.perceptiongames.engine.benchmarks;
+
+import com.perceptiongames.engine.Handlers.Terrain.TerrainGenerator;
+import com.perceptiongames.engine.Handlers.Terrain.TileMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating a whole level, which happens on every level change
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TerrainGeneratorBenchmark {
+
+    private TerrainGenerator generator;
+
+    @Setup
+    public void setup() {
+        Environment.silence();
+        generator = new TerrainGenerator(Environment.loadTerrainContent(), Environment.SEED);
+    }
+
+    @Benchmark
+    public TileMap generate() {
+        generator.generate(Environment.SEED);
+        return generator.getTerrain();
+    }
+}
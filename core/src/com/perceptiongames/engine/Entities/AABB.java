@@ -65,22 +65,91 @@ public final class AABB {
      * @return True if the two AABBs overlap, otherwise false
      */
     public boolean overlaps(AABB other) {
-        if(Math.abs(this.centre.x - other.centre.x) > this.halfSize.x + other.halfSize.x) {
+        return overlaps(other.centre.x, other.centre.y, other.halfSize.x, other.halfSize.y, other.isSensor);
+    }
+
+    /**
+     * A method to check if a box given by its centre and half size overlaps with this AABB <br>
+     *     Used for terrain cells which do not have an AABB of their own
+     * @param centreX The X coordinate of the centre of the box
+     * @param centreY The Y coordinate of the centre of the box
+     * @param halfWidth The half width of the box
+     * @param halfHeight The half height of the box
+     * @param sensor Whether the box is a sensor
+     * @return True if the box overlaps this AABB, otherwise false
+     */
+    public boolean overlaps(float centreX, float centreY, float halfWidth, float halfHeight, boolean sensor) {
+        if(Math.abs(this.centre.x - centreX) > this.halfSize.x + halfWidth) {
             return false;
         }
-        if(Math.abs(this.centre.y - other.centre.y) > this.halfSize.y + other.halfSize.y) {
+        if(Math.abs(this.centre.y - centreY) > this.halfSize.y + halfHeight) {
             return false;
         }
 
 
-        if(!isSensor && !other.isSensor)
-            collide(other);
+        if(!isSensor && !sensor)
+            collide(centreX - halfWidth, centreY - halfHeight, centreX + halfWidth, centreY + halfHeight);
         else
             collisionFlags |= SENSOR_BITS;
 
         return true;
     }
 
+    /**
+     * Finds when this AABB, moving from its current position by the given amount, first touches a static box <br>
+     *     Used to stop fast moving bodies from passing straight through thin terrain in a single step
+     * @param dx The distance moved along the X axis
+     * @param dy The distance moved along the Y axis
+     * @param centreX The X coordinate of the centre of the box
+     * @param centreY The Y coordinate of the centre of the box
+     * @param halfWidth The half width of the box
+     * @param halfHeight The half height of the box
+     * @return The fraction of the movement, between 0 and 1, at which the two first touch <br>
+     *     1 if they do not touch during the movement or were already overlapping at the start
+     */
+    public float sweep(float dx, float dy, float centreX, float centreY, float halfWidth, float halfHeight) {
+        // Treat this AABB as a point moving against the box grown by its half size
+        float extentX = halfWidth + halfSize.x;
+        float extentY = halfHeight + halfSize.y;
+
+        float entryX, exitX;
+        if(dx > 0) {
+            entryX = (centreX - extentX - centre.x) / dx;
+            exitX = (centreX + extentX - centre.x) / dx;
+        }
+        else if(dx < 0) {
+            entryX = (centreX + extentX - centre.x) / dx;
+            exitX = (centreX - extentX - centre.x) / dx;
+        }
+        else {
+            if(Math.abs(centre.x - centreX) >= extentX) return 1;
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        }
+
+        float entryY, exitY;
+        if(dy > 0) {
+            entryY = (centreY - extentY - centre.y) / dy;
+            exitY = (centreY + extentY - centre.y) / dy;
+        }
+        else if(dy < 0) {
+            entryY = (centreY + extentY - centre.y) / dy;
+            exitY = (centreY - extentY - centre.y) / dy;
+        }
+        else {
+            if(Math.abs(centre.y - centreY) >= extentY) return 1;
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+
+        if(entry > exit || entry < 0 || entry > 1) return 1;
+
+        return entry;
+    }
+
     public boolean contains(Vector2 pos)
     {
         if(this.centre.x+halfSize.x > pos.x && this.centre.x-this.halfSize.y < pos.x)
@@ -93,29 +162,32 @@ public final class AABB {
     /**
      * This is called if two AABBs overlap <br>
      *     it will separate the two AABBs so they are collisionFlags and not intersecting
-     * @param other The second AABB which is overlapping with this
+     * @param minX The left edge of the box overlapping with this
+     * @param minY The top edge of the box overlapping with this
+     * @param maxX The right edge of the box overlapping with this
+     * @param maxY The bottom edge of the box overlapping with this
      */
-    private void collide(AABB other) {
-        float bottom = other.getMaximum().y - this.getMinimum().y;
-        float top = this.getMaximum().y - other.getMinimum().y;
+    private void collide(float minX, float minY, float maxX, float maxY) {
+        float bottom = maxY - this.getMinY();
+        float top = this.getMaxY() - minY;
 
-        float left = this.getMaximum().x - other.getMinimum().x;
-        float right = other.getMaximum().x - this.getMinimum().x;
+        float left = this.getMaxX() - minX;
+        float right = maxX - this.getMinX();
 
         if(top <= left && top <= right && top <= bottom) {
-            this.setPosition(this.getPosition().x, other.getMinimum().y - this.getHeight());
+            centre.y = minY - halfSize.y;
             collisionFlags |= TOP_BITS;
         }
         else if(bottom <= left && bottom <= right && bottom <= top) {
-            this.setPosition(this.getPosition().x, other.getMaximum().y);
+            centre.y = maxY + halfSize.y;
             collisionFlags |= BOTTOM_BITS;
         }
         else if(left <= right && left <= top && left <= bottom) {
-            this.setPosition(other.getMinimum().x - this.getWidth(), this.getPosition().y);
+            centre.x = minX - halfSize.x;
             collisionFlags |= LEFT_BITS;
         }
         else {
-            this.setPosition(other.getMaximum().x, this.getPosition().y);
+            centre.x = maxX + halfSize.x;
             collisionFlags |= RIGHT_BITS;
         }
     }
@@ -125,10 +197,17 @@ public final class AABB {
     public Vector2 getHalfSize() { return halfSize; }
 
     // Position and Minimum are the same, more for code readability
+    // These allocate a new Vector2 each call, prefer the primitive getters below in anything run every tick
     public Vector2 getPosition() { return  new Vector2(centre).sub(halfSize); }
     public Vector2 getMinimum() { return getPosition(); }
     public Vector2 getMaximum() { return new Vector2(centre).add(halfSize); }
 
+    // Allocation free bounds
+    public float getMinX() { return centre.x - halfSize.x; }
+    public float getMinY() { return centre.y - halfSize.y; }
+    public float getMaxX() { return centre.x + halfSize.x; }
+    public float getMaxY() { return centre.y + halfSize.y; }
+
     // Returns the current collision state
     public int getCollisionFlags() { return collisionFlags; }
 
@@ -140,8 +219,9 @@ public final class AABB {
 
     // Setters
     public void setCentre(Vector2 centre) { this.centre.set(centre); }
-    public void setPosition(float x, float y) { setPosition(new Vector2(x, y)); }
-    public void setPosition(Vector2 position) { setCentre(new Vector2(position).add(halfSize)); }
+    public void setCentre(float x, float y) { centre.set(x, y); }
+    public void setPosition(float x, float y) { centre.set(x + halfSize.x, y + halfSize.y); }
+    public void setPosition(Vector2 position) { setPosition(position.x, position.y); }
     public void setCollisionFlags(int flags) { collisionFlags = flags; }
     public void setSensor(boolean sensor) { this.isSensor = sensor; }
 
@@ -150,6 +230,6 @@ public final class AABB {
     // DEBUG Stuff
     // This will draw the AABB as an outline on screen
     public void debugRender(ShapeRenderer sr) {
-        sr.box(getPosition().x, getPosition().y, 0, getHalfSize().x * 2, getHalfSize().y * 2, 0);
+        sr.box(getMinX(), getMinY(), 0, getWidth(), getHeight(), 0);
     }
 }
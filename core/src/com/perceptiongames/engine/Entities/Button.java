@@ -4,6 +4,10 @@ import com.perceptiongames.engine.Handlers.Animation;
 
 public class Button extends Entity{
 
+    // Animation ids for buttons which toggle
+    public static final int ON = 0;
+    public static final int OFF = 1;
+
     private String text;
 
     public Button(Animation animation, String animationName, AABB aabb) {
@@ -3,39 +3,52 @@ package com.perceptiongames.engine.Entities;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool;
 import com.perceptiongames.engine.Game;
 import com.perceptiongames.engine.Handlers.Animation;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static com.badlogic.gdx.math.MathUtils.floor;
-import static com.badlogic.gdx.math.MathUtils.random;
 import static java.lang.Math.sin;
 
-public class Enemy extends Entity {
+public class Enemy extends Entity implements Pool.Poolable {
+
+    // Animation ids
+    public static final int IDLE = 0;
+    public static final int ATTACK = 1;
+    public static final int RIGHT = 2;
+    public static final int LEFT = 3;
 
     private float ticker;
-    private Vector2 pos = getPosition();
     private Vector2 velocity = new Vector2();
     private boolean onGround;
     private int[] actions;
     private int current;
 
     private boolean attacking;
+    private int swing;
+    private int swingFrame;
     private Vector2 weaponOffset;
     private AABB weapon;
     private List<Sound> sounds;
     private float playerDir;
 
-    public Enemy(Animation animation, String animationName, AABB aabb) {
+    private final Random random;
+    private int type;
+
+    public Enemy(Animation animation, String animationName, AABB aabb, Random random) {
         super(animation, animationName, aabb);
+        this.random = random;
         onGround=false;
         playerDir=0;
         actions = new int[] { 0, 1, 2, 3 };
         current=3;
 
         attacking = false;
+        swingFrame = -1;
         weaponOffset = new Vector2();
         sounds = new ArrayList<Sound>();
 
@@ -44,6 +57,7 @@ public class Enemy extends Entity {
     @Override
     public void update(float dt) {
         if(!live) return;
+        storePosition();
 
         if(ticker > 5 && playerDir==0) {
             ticker = 0;
@@ -78,7 +92,7 @@ public class Enemy extends Entity {
             velocity.x = 0;
         }
         if(flags == AABB.NONE_BITS || flags == (AABB.SENSOR_BITS | AABB.NONE_BITS)) {
-            if(getPosition().y + aabb.getHeight() == Game.WORLD_HEIGHT) { //If no collision, check if its on the world floor
+            if(aabb.getMaxY() == Game.WORLD_HEIGHT) { //If no collision, check if its on the world floor
                 onGround = true;
             }
             else {
@@ -96,7 +110,7 @@ public class Enemy extends Entity {
         switch(current) {
             case 1:
                 velocity.x = 75;
-                this.setCurrentAnimation("Right");
+                this.setCurrentAnimation(RIGHT);
                 if((flags&AABB.LEFT_BITS) == AABB.LEFT_BITS) {
                     //velocity.add(0, -400);
                     current = 2;
@@ -105,7 +119,7 @@ public class Enemy extends Entity {
                 break;
             case 2:
                 velocity.x=-75;
-                this.setCurrentAnimation("Left");
+                this.setCurrentAnimation(LEFT);
                 if((flags & AABB.RIGHT_BITS) == AABB.RIGHT_BITS) {
                     //velocity.add(0, 400);
                     current = 1;
@@ -113,22 +127,26 @@ public class Enemy extends Entity {
                 attacking = false;
                 break;
             case 3:
-                this.setCurrentAnimation("idle");
+                this.setCurrentAnimation(IDLE);
                 attacking = false;
                 break;
             case 4:
-                this.setCurrentAnimation("attack");
+                this.setCurrentAnimation(ATTACK);
                 attacking = true;
                 if(playerDir!=0)
                     velocity.x=75*playerDir;
                 break;
         }
-        Vector2 newPos = new Vector2();
-        newPos.x = getPosition().x + (velocity.x * dt); // Speed = distance / time, simple physics
-        newPos.y = getPosition().y + (velocity.y * dt);
+        float newX = getX() + (velocity.x * dt); // Speed = distance / time, simple physics
+        float newY = getY() + (velocity.y * dt);
 
         if(attacking) {
-            Animation a = getAnimation(getAnimationKey());
+            Animation a = getCurrentAnimation();
+
+            // Every pass through the attack animation counts as a new swing
+            if(swingFrame < 0 || a.getCurrentFrame() < swingFrame) swing++;
+            swingFrame = a.getCurrentFrame();
+
             switch (a.getCurrentFrame()) {
                 case 0:
                     weaponOffset.x = 38;
@@ -161,32 +179,68 @@ public class Enemy extends Entity {
             }
         }
         else {
+            swingFrame = -1;
             weaponOffset.x = weaponOffset.y = 0;
         }
 
-        if(newPos.x < 0) { //Because speed never hit 0, we make it 0 if its under 1
-            newPos.x = 0;
+        if(newX < 0) { //Because speed never hit 0, we make it 0 if its under 1
+            newX = 0;
             velocity.x = 0;
         }
-        else if(newPos.x + aabb.getWidth() > Game.WORLD_WIDTH) {
-            newPos.x = Game.WORLD_WIDTH - aabb.getWidth();
+        else if(newX + aabb.getWidth() > Game.WORLD_WIDTH) {
+            newX = Game.WORLD_WIDTH - aabb.getWidth();
             velocity.x = 0;
         }
 
-        if(newPos.y < 0) {
-            newPos.y = 0;
+        if(newY < 0) {
+            newY = 0;
             velocity.y = 0;
         }
-        else if(newPos.y + aabb.getHeight() > Game.WORLD_HEIGHT) {
-            newPos.y = Game.WORLD_HEIGHT - aabb.getHeight();
+        else if(newY + aabb.getHeight() > Game.WORLD_HEIGHT) {
+            newY = Game.WORLD_HEIGHT - aabb.getHeight();
             velocity.y = 0;
             onGround = true;
         }
-        this.setPosition(newPos);
+        this.setPosition(newX, newY);
         ticker += dt;
-        weapon.setCentre(new Vector2(aabb.getCentre().x + weaponOffset.x, aabb.getCentre().y + weaponOffset.y));
+        weapon.setCentre(aabb.getCentre().x + weaponOffset.x, aabb.getCentre().y + weaponOffset.y);
         super.update(dt);
+    }
+
+    /**
+     * Puts the enemy in the world, as the TerrainGenerator does with enemies it takes from a pool
+     * @param x The x coordinate of the top left of the enemy
+     * @param y The y coordinate of the top left of the enemy
+     * @param type The type of enemy, which is the pool it is freed back to
+     * @param seed The seed for the enemy's wandering
+     */
+    public void spawn(float x, float y, int type, long seed) {
+        this.type = type;
+        setPosition(x, y);
+        storePosition();
+        random.setSeed(seed);
+    }
+
+    /**
+     * Returns the enemy to how it was when created, called when it is freed back to its pool
+     */
+    @Override
+    public void reset() {
+        live = true;
+        ticker = 0;
+        velocity.setZero();
+        onGround = false;
+        playerDir = 0;
+        current = 3;
+
+        attacking = false;
+        swing = 0;
+        swingFrame = -1;
+        weaponOffset.setZero();
+        if(weapon != null) weapon.setCollisionFlags(AABB.NONE_BITS);
+
         aabb.setCollisionFlags(AABB.NONE_BITS);
+        rewindAnimations();
     }
 
     public void hit()
@@ -197,6 +251,8 @@ public class Enemy extends Entity {
     public int getCurrent() { return current; }
     public AABB getWeapon() { return weapon; }
     public boolean isAttacking() { return attacking; }
+    public int getSwing() { return swing; }
+    public int getType() { return type; }
 
 
     public void setCurrent(int current) { this.current = current; }
@@ -2,75 +2,195 @@ package com.perceptiongames.engine.Entities;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.ObjectIntMap;
 import com.perceptiongames.engine.Handlers.Animation;
 
-import java.util.HashMap;
-
 /**
  * Represents an object which can be added to the world.
  * Cannot be instantiated
  */
 public abstract class Entity {
 
-    protected HashMap<String, Animation> animations;
-    private String currentAnimation;
-    private String prevAnimation;
+    // Animations are looked up by id each tick, their names are only used when setting them up
+    protected Animation[] animations;
+    private String[] names;
+    private final ObjectIntMap<String> ids;
+
+    private int currentAnimation;
+    private int prevAnimation;
     protected boolean live; //whether or not the entity is alive or not
 
     protected AABB aabb;
 
+    // Where the entity was at the start of the current tick, used for swept collision and interpolation
+    private float previousX;
+    private float previousY;
+
     // Constructors
+    /**
+     * Creates the entity with its first animation, which gets id 0 and is returned to after one-off animations
+     * @param animation The first animation
+     * @param animationName The name of the first animation
+     * @param aabb The collision box for the entity
+     */
     public Entity(Animation animation, String animationName, AABB aabb) {
         this.live = true;
-        this.animations = new HashMap<String, Animation>();
+        this.animations = new Animation[4];
+        this.names = new String[4];
+        this.ids = new ObjectIntMap<String>();
         this.aabb = aabb;
 
-        animations.put(animationName, animation);
-        currentAnimation = prevAnimation = animationName;
-        this.animations.get(currentAnimation).setPosition(getPosition());
+        addAnimation(0, animationName, animation);
+        currentAnimation = prevAnimation = 0;
+        animations[currentAnimation].setPosition(aabb.getMinX(), aabb.getMinY());
+        storePosition();
     }
 
     // Methods
     public void update(float dt) {
-        animations.get(currentAnimation).update(dt);
-        animations.get(currentAnimation).setPosition(aabb.getPosition());
-        if(animations.get(currentAnimation).isFinished()) {
-            animations.get(currentAnimation).reset();
+        Animation current = animations[currentAnimation];
+        current.update(dt);
+        current.setPosition(aabb.getMinX(), aabb.getMinY());
+        if(current.isFinished()) {
+            current.reset();
             currentAnimation = prevAnimation;
         }
     }
 
-    public void render(SpriteBatch batch) { if(live) { animations.get(currentAnimation).render(batch, getPosition()); } }
+    public void render(SpriteBatch batch) { render(batch, 1); }
+
+    /**
+     * Draws the entity part way between where it was at the start of the last tick and where it is now
+     * @param batch The Sprite Batch used to draw the entity
+     * @param alpha How far through the next tick the frame is, from 0 to 1
+     */
+    public void render(SpriteBatch batch, float alpha) {
+        if(live) { animations[currentAnimation].render(batch, getRenderX(alpha), getRenderY(alpha)); }
+    }
 
     // Getters
     public AABB getAABB() { return aabb; }
-    public Animation getAnimation(String key) { return animations.get(key); }
+    public Animation getAnimation(int id) { return animations[id]; }
+    public Animation getAnimation(String key) { return animations[getAnimationId(key)]; }
+    public Animation getCurrentAnimation() { return animations[currentAnimation]; }
     public Vector2 getPosition() { return aabb.getPosition(); }
-    public String getAnimationKey() { return currentAnimation; }
-    public void addAnimation(String key, Animation animation) { animations.put(key,animation); }
+    public float getX() { return aabb.getMinX(); }
+    public float getY() { return aabb.getMinY(); }
+    public float getPreviousX() { return previousX; }
+    public float getPreviousY() { return previousY; }
+    public float getRenderX(float alpha) { return previousX + ((aabb.getMinX() - previousX) * alpha); }
+    public float getRenderY(float alpha) { return previousY + ((aabb.getMinY() - previousY) * alpha); }
+    public int getAnimationId() { return currentAnimation; }
+    public String getAnimationKey() { return names[currentAnimation]; }
     public boolean isLive() { return live; }
 
+    /**
+     * Finds the id an animation was added with
+     * @param key The name of the animation
+     * @return The id of the animation
+     */
+    public int getAnimationId(String key) {
+        int id = ids.get(key, -1);
+        if(id < 0)
+            throw new IllegalArgumentException("Error: Animation " + key + " does not exist in this entity");
+
+        return id;
+    }
+
+    /**
+     * Adds an animation with the next free id, or replaces the animation with the same name
+     * @param key The name of the animation
+     * @param animation The animation to add
+     * @return The id of the animation
+     */
+    public int addAnimation(String key, Animation animation) {
+        int id = ids.get(key, -1);
+        if(id < 0) {
+            id = 0;
+            while (id < animations.length && animations[id] != null) id++;
+        }
+
+        addAnimation(id, key, animation);
+        return id;
+    }
+
+    /**
+     * Adds an animation with a given id, replacing any animation which already has it
+     * @param id The id of the animation, subclasses declare the ids they use
+     * @param key The name of the animation
+     * @param animation The animation to add
+     */
+    public void addAnimation(int id, String key, Animation animation) {
+        if(id < 0) throw new IllegalArgumentException("Error: Animation ids can't be negative, got " + id);
+
+        if(id >= animations.length) {
+            Animation[] grownAnimations = new Animation[Math.max(id + 1, animations.length * 2)];
+            String[] grownNames = new String[grownAnimations.length];
+            System.arraycopy(animations, 0, grownAnimations, 0, animations.length);
+            System.arraycopy(names, 0, grownNames, 0, names.length);
+
+            animations = grownAnimations;
+            names = grownNames;
+        }
+
+        if(names[id] != null) ids.remove(names[id], -1);
+
+        animations[id] = animation;
+        names[id] = key;
+        ids.put(key, id);
+    }
+
     // Setters
-    public void setPosition(float x, float y) { setPosition(new Vector2(x, y)); }
-    public void setPosition(Vector2 position) {
-        aabb.setCentre(position.add(aabb.getHalfSize()));
-        animations.get(currentAnimation).setPosition(position);
+    public void setPosition(Vector2 position) { setPosition(position.x, position.y); }
+    public void setPosition(float x, float y) {
+        aabb.setPosition(x, y);
+        animations[currentAnimation].setPosition(x, y);
     }
-    public void setCurrentAnimation(String animation) {
-        if(!animations.containsKey(animation))
-            throw new IllegalArgumentException("Error: Animation " + animation + " does not exist in this entity");
+    public void setCurrentAnimation(String animation) { setCurrentAnimation(getAnimationId(animation)); }
+    public void setCurrentAnimation(String animation, int plays) { setCurrentAnimation(getAnimationId(animation), plays); }
+
+    public void setCurrentAnimation(int id) {
+        checkAnimation(id);
 
-        prevAnimation = currentAnimation.equals(animation) ? prevAnimation : currentAnimation;
-        currentAnimation = animation;
+        prevAnimation = currentAnimation == id ? prevAnimation : currentAnimation;
+        currentAnimation = id;
     }
 
-    public void setCurrentAnimation(String animation, int plays) {
-        if(!animations.containsKey(animation))
-            throw new IllegalArgumentException("Error: Animation " + animation + " does not exist in this entity");
+    /**
+     * Plays an animation a set number of times then goes back to the first animation
+     * @param id The id of the animation
+     * @param plays How many times to play it
+     */
+    public void setCurrentAnimation(int id, int plays) {
+        checkAnimation(id);
 
-        prevAnimation = "idle";
-        currentAnimation = animation;
-        animations.get(currentAnimation).setMaxPlays(plays);
+        prevAnimation = 0;
+        currentAnimation = id;
+        animations[currentAnimation].setMaxPlays(plays);
     }
     public void setLive(boolean live) { this.live = live; }
+
+    /**
+     * Rewinds every animation and goes back to the first one, for reusing the entity
+     */
+    protected void rewindAnimations() {
+        for (Animation animation : animations) {
+            if(animation != null) animation.rewind();
+        }
+        currentAnimation = prevAnimation = 0;
+    }
+
+    /**
+     * Records the current position as the start of this tick's movement <br>
+     *     Should be called before the entity moves, and after it is teleported so the jump is not swept
+     */
+    public void storePosition() {
+        previousX = aabb.getMinX();
+        previousY = aabb.getMinY();
+    }
+
+    private void checkAnimation(int id) {
+        if(id < 0 || id >= animations.length || animations[id] == null)
+            throw new IllegalArgumentException("Error: Animation " + id + " does not exist in this entity");
+    }
 }
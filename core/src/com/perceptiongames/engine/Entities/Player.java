@@ -1,11 +1,10 @@
 package com.perceptiongames.engine.Entities;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.Vector2;
 import com.perceptiongames.engine.Game;
 import com.perceptiongames.engine.Handlers.Animation;
+import com.perceptiongames.engine.Handlers.Controls;
 import com.perceptiongames.engine.States.Play;
 
 import java.util.ArrayList;
@@ -13,6 +12,15 @@ import java.util.List;
 
 public class Player extends Entity {
 
+    // Animation ids
+    public static final int IDLE = 0;
+    public static final int MOVE_LEFT = 1;
+    public static final int MOVE_RIGHT = 2;
+    public static final int PUSH_LEFT = 3;
+    public static final int PUSH_RIGHT = 4;
+    public static final int ATTACK_RIGHT = 5;
+    public static final int ATTACK_LEFT = 6;
+
     private Vector2 velocity;
     private boolean onGround;
 
@@ -27,10 +35,13 @@ public class Player extends Entity {
     private int enemiesKilled;
 
     private boolean attacking;
+    private int swing;
     private float airTime =0;
 
     private int totalPoints;
 
+    private Controls controls;
+
     /**
      * Sets up the local variables for the player
      * @param animation The animation for the player
@@ -51,11 +62,12 @@ public class Player extends Entity {
     }
 
     public void reset(Vector2 position) {
-        setCurrentAnimation("idle");
+        setCurrentAnimation(IDLE);
         health = 1;
         live = true;
-        setPosition(new Vector2(position));
-        velocity = new Vector2(0, 0);
+        setPosition(position.x, position.y);
+        storePosition();
+        velocity.set(0, 0);
     }
 
     /**
@@ -63,9 +75,9 @@ public class Player extends Entity {
      */
     private void handleInput() {
 
-        if(getAnimationKey().contains("attack")) {
+        if(isAttackAnimation()) {
             velocity.x = 0;
-            Animation current = getAnimation(getAnimationKey());
+            Animation current = getCurrentAnimation();
             switch (current.getCurrentFrame() + 1) {
                 case 1:
                     weaponOffset = 17;
@@ -81,7 +93,7 @@ public class Player extends Entity {
                     weaponOffset = 26;
                     break;
             }
-            if(getAnimationKey().equals("attackLeft")) weaponOffset = -weaponOffset;
+            if(getAnimationId() == ATTACK_LEFT) weaponOffset = -weaponOffset;
         }
         else {
             if(attacking) {
@@ -91,53 +103,55 @@ public class Player extends Entity {
         }
 
 
-        if(Gdx.input.isKeyPressed(Input.Keys.SPACE) &&onGround) { //Checks if the player is on the ground and if they want to jump
+        if(controls.isDown(Controls.JUMP) &&onGround) { //Checks if the player is on the ground and if they want to jump
             setVelocity(velocity.x, -940f); //Sets their velocity to the escape jump speed
             onGround = false;
             sounds.get(2).play(Play.AUDIO_VOLUME);
         }
 
-        if(Gdx.input.isKeyPressed(Input.Keys.A)) {
-            if(Gdx.input.isTouched()&& lastAttack>1) {
+        if(controls.isDown(Controls.LEFT)) {
+            if(controls.isDown(Controls.ATTACK)&& lastAttack>1) {
                 lastAttack=0;
                 sounds.get(0).play(Play.AUDIO_VOLUME);
-                setCurrentAnimation("attackLeft", 1);
+                setCurrentAnimation(ATTACK_LEFT, 1);
                 attacking = true;
+                swing++;
                 if(onGround) velocity.x = 0;
             }
-            else if(!getAnimationKey().contains("attack")) {
+            else if(!isAttackAnimation()) {
                 setVelocity(-500f, velocity.y); //Sets the velocity to the left at a 500 units/s speed
                 if ((aabb.getCollisionFlags() & AABB.RIGHT_BITS) == AABB.RIGHT_BITS) {
-                    setCurrentAnimation("pushLeft");
+                    setCurrentAnimation(PUSH_LEFT);
                 } else {
-                    this.setCurrentAnimation("moveLeft");
+                    this.setCurrentAnimation(MOVE_LEFT);
                 }
             }
         }
-        else if(Gdx.input.isKeyPressed(Input.Keys.D)) {
-            if(Gdx.input.isTouched() &&lastAttack>1) {
+        else if(controls.isDown(Controls.RIGHT)) {
+            if(controls.isDown(Controls.ATTACK) &&lastAttack>1) {
                 lastAttack=0;
                 sounds.get(0).play(Play.AUDIO_VOLUME);
-                setCurrentAnimation("attackRight", 1);
+                setCurrentAnimation(ATTACK_RIGHT, 1);
                 attacking = true;
+                swing++;
 
                 if(onGround) velocity.x = 0;
             }
-            else if(!getAnimationKey().contains("attack")) {
+            else if(!isAttackAnimation()) {
                 if ((aabb.getCollisionFlags() & AABB.LEFT_BITS) == AABB.LEFT_BITS) {
                     velocity.x = 0;
-                    setCurrentAnimation("pushRight");
+                    setCurrentAnimation(PUSH_RIGHT);
                 }
                 else {
                     setVelocity(500f, velocity.y); //Sets the velocity to the right at a 500 units/s speed
-                    this.setCurrentAnimation("moveRight");
+                    this.setCurrentAnimation(MOVE_RIGHT);
                 }
             }
         }
         else {
             setVelocity(0, velocity.y); //If not pressing a direction key set the x velocity to 0
-            if(!getAnimationKey().contains("attack"))
-                this.setCurrentAnimation("idle");
+            if(!isAttackAnimation())
+                this.setCurrentAnimation(IDLE);
         }
     }
 
@@ -148,6 +162,7 @@ public class Player extends Entity {
     @Override
     public void update(float dt) {
         if(!live) return;
+        storePosition();
         lastAttack+=dt;
         if (!onGround){airTime+=dt;}
 
@@ -180,7 +195,7 @@ public class Player extends Entity {
         }
 
         if(flags == AABB.NONE_BITS || flags == (AABB.SENSOR_BITS | AABB.NONE_BITS)) {
-            if(getPosition().y + aabb.getHeight() == Game.WORLD_HEIGHT) { //If no collision, check if its on the world floor
+            if(aabb.getMaxY() == Game.WORLD_HEIGHT) { //If no collision, check if its on the world floor
                 if(!onGround && airTime>3)
                 {
                     sounds.get(1).play(Play.AUDIO_VOLUME);
@@ -204,24 +219,23 @@ public class Player extends Entity {
         }
 
 
-        Vector2 newPos = new Vector2();
-        newPos.x = getPosition().x + (velocity.x * dt); // Speed = distance / time, simple physics
-        newPos.y = getPosition().y + (velocity.y * dt);
-        if(newPos.x < 0) { //Because speed never hit 0, we make it 0 if its under 1
-            newPos.x = 0;
+        float newX = getX() + (velocity.x * dt); // Speed = distance / time, simple physics
+        float newY = getY() + (velocity.y * dt);
+        if(newX < 0) { //Because speed never hit 0, we make it 0 if its under 1
+            newX = 0;
             velocity.x = 0;
         }
-        else if(newPos.x + aabb.getWidth() > Game.WORLD_WIDTH) {
-            newPos.x = Game.WORLD_WIDTH - aabb.getWidth();
+        else if(newX + aabb.getWidth() > Game.WORLD_WIDTH) {
+            newX = Game.WORLD_WIDTH - aabb.getWidth();
             velocity.x = 0;
         }
 
-        if(newPos.y < 0) {
-            newPos.y = 0;
+        if(newY < 0) {
+            newY = 0;
             velocity.y = 0;
         }
-        else if(newPos.y + aabb.getHeight() > Game.WORLD_HEIGHT) {
-            newPos.y = Game.WORLD_HEIGHT - aabb.getHeight();
+        else if(newY + aabb.getHeight() > Game.WORLD_HEIGHT) {
+            newY = Game.WORLD_HEIGHT - aabb.getHeight();
             velocity.y = 0;
             if(!onGround&& airTime>3)
             {
@@ -231,11 +245,15 @@ public class Player extends Entity {
             airTime=0;
         }
 
-        setPosition(newPos);
+        setPosition(newX, newY);
         super.update(dt);
 
-        weapon.setCentre(new Vector2(aabb.getCentre().x + weaponOffset, aabb.getCentre().y + 7));
-        aabb.setCollisionFlags(AABB.NONE_BITS);
+        weapon.setCentre(aabb.getCentre().x + weaponOffset, aabb.getCentre().y + 7);
+    }
+
+    private boolean isAttackAnimation() {
+        int id = getAnimationId();
+        return id == ATTACK_LEFT || id == ATTACK_RIGHT;
     }
 
     public Vector2 getVelocity() { return velocity; }
@@ -245,7 +263,7 @@ public class Player extends Entity {
     public int getTotalPoints() { return totalPoints; }
 
     public void setVelocity(float x, float y) {
-        setVelocity(new Vector2(x, y));
+        velocity.set(x, y);
     }
     public void setVelocity(Vector2 v) {
         velocity.set(v);
@@ -259,6 +277,7 @@ public class Player extends Entity {
 
     public AABB getWeapon() { return weapon; }
     public boolean isAttacking() { return attacking; }
+    public int getSwing() { return swing; }
     public int getEnemiesKilled() { return enemiesKilled; }
     public List<Sound> getSounds() { return sounds; }
 
@@ -266,6 +285,7 @@ public class Player extends Entity {
     public void setEnemiesKilled(int k) { enemiesKilled = k; }
     public void incrementDeaths() { numberDeaths++; }
     public void setSounds(List<Sound> sounds) { this.sounds = sounds; }
+    public void setControls(Controls controls) { this.controls = controls; }
     public void setWeapon(AABB weapon) {
         this.weapon = weapon;
         weapon.setSensor(true);
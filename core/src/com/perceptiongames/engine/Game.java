@@ -3,16 +3,24 @@ package com.perceptiongames.engine;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.perceptiongames.engine.Handlers.Content;
+import com.perceptiongames.engine.Handlers.Controls;
 import com.perceptiongames.engine.Handlers.GameStateManager;
+import com.perceptiongames.engine.Handlers.InputRecording;
+import com.perceptiongames.engine.Handlers.Profiler;
 import com.perceptiongames.engine.Handlers.Terrain.TerrainGenerator;
 import com.perceptiongames.engine.Handlers.Terrain.Tile;
 
+import java.io.IOException;
+import java.util.Random;
+
 public class Game extends ApplicationAdapter {
 
     public static final int WIDTH = 1280;
@@ -36,8 +44,55 @@ public class Game extends ApplicationAdapter {
 
     private Viewport viewport;
 
+    // Shown in the window title, which is only changed when it changes
+    private int fps;
+
+    private OrthographicCamera overlayCamera;
+    private BitmapFont overlayFont;
+
+    public static final int DEFAULT_TICK_RATE = 60;
+
+    // The most ticks run in one frame, time beyond that is dropped so a long frame can't snowball into more
+    private static final int MAX_TICKS_PER_FRAME = 5;
+
     private float time;
-    private final float DELTA = 1/60f;
+    private final int tickRate;
+    private final float delta;
+    private float alpha;
+
+    // Every level seed is drawn from this, so one seed reproduces a whole run
+    private final long seed;
+    private final Random seeds;
+
+    private final Controls controls;
+
+    // Set when the controls should be recorded, the recording starts with Play
+    private String recordingPath;
+    private InputRecording recording;
+
+    public Game() { this(DEFAULT_TICK_RATE); }
+
+    /**
+     * Creates the game with a random seed
+     * @param tickRate The number of fixed time steps per second
+     */
+    public Game(int tickRate) { this(tickRate, System.nanoTime()); }
+
+    /**
+     * Creates the game with a fixed seed
+     * @param tickRate The number of fixed time steps per second
+     * @param seed The seed all of the levels are generated from
+     */
+    public Game(int tickRate, long seed) {
+        if(tickRate <= 0) throw new IllegalArgumentException("Error: The tick rate must be positive, got " + tickRate);
+
+        this.tickRate = tickRate;
+        delta = 1f / tickRate;
+        this.seed = seed;
+        seeds = new Random(seed);
+
+        controls = new Controls();
+    }
 
 	@Override
 	public void create () {
@@ -51,31 +106,110 @@ public class Game extends ApplicationAdapter {
         viewport.apply(true);
 
         content = new Content();
+        content.loadAtlas("Atlas/textures.atlas");
+        content.loadRooms("Rooms");
 
         gsm = new GameStateManager(this);
     }
 
 	@Override
 	public void render () {
-	    Gdx.graphics.setTitle("FPS: " + Gdx.graphics.getFramesPerSecond());
+	    if(Gdx.graphics.getFramesPerSecond() != fps) {
+	        fps = Gdx.graphics.getFramesPerSecond();
+	        Gdx.graphics.setTitle("FPS: " + fps);
+        }
+
+        // Window and debug keys, these aren't gameplay so they are read directly and never recorded
+        // F11 goes full screen, F3 shows the profiler, F4 starts and stops capturing it to a file
+        if(Gdx.input.isKeyJustPressed(Input.Keys.F11)) Gdx.graphics.setFullscreenMode(Gdx.graphics.getDisplayMode());
+        if(Gdx.input.isKeyJustPressed(Input.Keys.F3)) Profiler.setEnabled(!Profiler.isEnabled());
+        if(Gdx.input.isKeyJustPressed(Input.Keys.F4)) {
+            if(Profiler.isCapturing()) Profiler.stopCapture(Gdx.files.local("profile-" + System.currentTimeMillis() + ".csv"));
+            else Profiler.startCapture();
+        }
+
 		Gdx.gl.glClearColor((100/255f), (149/255f), (237/255f), 1);
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
         time += Gdx.graphics.getDeltaTime();
-        while (time >= DELTA) {
-            time -= DELTA;
-
-            gsm.update(DELTA);
 
-            if(Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE))
-                Gdx.app.exit();
+        int ticks = 0;
+        while (time >= delta && ticks < MAX_TICKS_PER_FRAME) {
+            time -= delta;
+            tick();
+            ticks++;
         }
+
+        // Fell too far behind, so give up on catching up rather than running slower and slower
+        if(time >= delta) time %= delta;
+
+        alpha = time / delta;
         gsm.render();
+
+        if(Profiler.isEnabled()) renderProfiler();
+        Profiler.endFrame();
 	}
+
+    private void renderProfiler() {
+        if(overlayFont == null) {
+            content.loadFont("Profiler", "UbuntuBold.ttf", 14);
+            overlayFont = content.getFont("Profiler");
+            overlayCamera = new OrthographicCamera();
+            overlayCamera.setToOrtho(true);
+        }
+
+        batch.setProjectionMatrix(overlayCamera.combined);
+        batch.begin();
+        overlayFont.setColor(1, 1, 1, 1);
+        Profiler.render(batch, overlayFont, 10, 90);
+        batch.end();
+    }
+
+    /**
+     * Advances the game by one fixed time step using the controls from Gdx.input, without rendering
+     */
+    public void tick() { tick(controls.poll()); }
+
+    /**
+     * Advances the game by one fixed time step with the given controls, without rendering
+     * @param state The bit mask of the controls held during the tick
+     */
+    public void tick(int state) {
+        controls.set(state);
+        if(recording != null) recording.add(state);
+
+        gsm.update(delta);
+
+        if(controls.isPressed(Controls.QUIT))
+            Gdx.app.exit();
+    }
+
+    /**
+     * Records the controls of the next game played, the recording is saved when the game closes
+     * @param path The path to save the recording to, relative to the working directory
+     */
+    public void record(String path) { recordingPath = path; }
+
+    /**
+     * Starts a new recording if one was asked for, called as Play starts
+     * @param seed The seed the level was generated from
+     */
+    public void beginRecording(long seed) {
+        if(recordingPath != null) recording = new InputRecording(seed, tickRate);
+    }
 	
 	@Override
 	public void dispose () {
         batch.dispose();
+
+        if(recording != null) {
+            try {
+                recording.write(new FileHandle(recordingPath).write(false));
+            }
+            catch (IOException e) {
+                Gdx.app.error("Game", "Could not save the recording to " + recordingPath, e);
+            }
+        }
     }
 
     @Override
@@ -86,4 +220,11 @@ public class Game extends ApplicationAdapter {
 	public Viewport getViewport() { return viewport; }
 
 	public Content getContent() { return content; }
+	public GameStateManager getStateManager() { return gsm; }
+	public int getTickRate() { return tickRate; }
+	public float getDelta() { return delta; }
+	public float getAlpha() { return alpha; }
+	public long getSeed() { return seed; }
+	public long nextSeed() { return seeds.nextLong(); }
+	public Controls getControls() { return controls; }
 }
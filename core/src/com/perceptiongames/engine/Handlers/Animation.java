@@ -5,20 +5,20 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 
+/**
+ * One playback of an AnimationDef <br>
+ *     The frames are shared, each instance only keeps where it is in them and how to draw them
+ */
 public class Animation {
 
     private Vector2 position;
 
-    private TextureRegion texture;
-    private int rows;
-    private int columns;
+    private final AnimationDef def;
 
     private float timePerFrame;
     private float sinceLastFrame;
     private int currentFrame;
 
-    private final int totalFrames;
-
     private boolean flipX;
     private boolean flipY;
 
@@ -39,6 +39,16 @@ public class Animation {
         this(texture, rows, columns, 0.1f);
     }
 
+    /**
+     * Creates an animation from a region of a texture
+     * @param region The region holding every frame of the animation
+     * @param rows How many rows the animation has
+     * @param columns How many columns the animation has
+     */
+    public Animation(TextureRegion region, int rows, int columns) {
+        this(region, rows, columns, 0.1f);
+    }
+
     /**
      * Creates an animation from a texture
      * @param texture The texture to represent the animation
@@ -47,13 +57,28 @@ public class Animation {
      * @param timePerFrame How much time (in seconds) a frame lasts for
      */
     public Animation(Texture texture, int rows, int columns, float timePerFrame) {
-        this.texture = new TextureRegion(texture);
-        this.rows = rows;
-        this.columns = columns;
+        this(new AnimationDef(texture, rows, columns, timePerFrame));
+    }
 
-        totalFrames = rows * columns;
+    /**
+     * Creates an animation from a region of a texture, such as one in an atlas
+     * @param region The region holding every frame of the animation
+     * @param rows How many rows the animation has
+     * @param columns How many columns the animation has
+     * @param timePerFrame How much time (in seconds) a frame lasts for
+     */
+    public Animation(TextureRegion region, int rows, int columns, float timePerFrame) {
+        this(new AnimationDef(region, rows, columns, timePerFrame));
+    }
 
-        this.timePerFrame = timePerFrame;
+    /**
+     * Creates an animation which plays shared frames
+     * @param def The frames to play
+     */
+    public Animation(AnimationDef def) {
+        this.def = def;
+
+        timePerFrame = def.getTimePerFrame();
 
         position = new Vector2();
 
@@ -76,7 +101,7 @@ public class Animation {
             sinceLastFrame -= timePerFrame;
 
             currentFrame++;
-            if (currentFrame == totalFrames) {
+            if (currentFrame == def.getTotalFrames()) {
                 currentFrame = 0;
                 totalPlays++;
                 if(totalPlays == maxPlays) {
@@ -90,34 +115,37 @@ public class Animation {
      * Draws the animation on the screen on its current frame
      * @param batch The Sprite Batch used to render the texture on screen
      */
-    public void render(SpriteBatch batch, Vector2 position) {
-        int width = texture.getTexture().getWidth() / columns;
-        int height = texture.getTexture().getHeight() / rows;
-
-        int row = (int)(((float) currentFrame) / ((float) columns));
-        int col = currentFrame % columns;
+    public void render(SpriteBatch batch, Vector2 position) { render(batch, position.x, position.y); }
 
-        texture.setRegion(col * width, row * height, width, height);
-
-        texture.flip(flipX, !flipY);
-        batch.draw(texture, position.x + offsetX, position.y + offsetY);
+    /**
+     * Draws the animation on the screen on its current frame
+     * @param batch The Sprite Batch used to render the texture on screen
+     * @param x The x coordinate to draw at
+     * @param y The y coordinate to draw at
+     */
+    public void render(SpriteBatch batch, float x, float y) {
+        batch.draw(def.getFrame(currentFrame, flipX, flipY), x + offsetX, y + offsetY);
     }
 
     // Getters
-    public TextureRegion getTexture() { return texture; }
+    public AnimationDef getDef() { return def; }
+    public TextureRegion getTexture() { return def.getFrame(currentFrame, flipX, flipY); }
     public Vector2 getPosition() { return new Vector2(position.x + offsetX, position.y + offsetY); }
-    public int getRows() { return rows; }
-    public int getColumns() { return columns; }
+    public float getX() { return position.x + offsetX; }
+    public float getY() { return position.y + offsetY; }
+    public int getRows() { return def.getRows(); }
+    public int getColumns() { return def.getColumns(); }
     public boolean isFlipX() { return flipX; }
     public boolean isFlipY() { return flipY; }
     public boolean isFinished() { return finished; }
     public int getCurrentFrame() { return currentFrame; }
-    public int getTotalFrames() { return totalFrames; }
+    public int getTotalFrames() { return def.getTotalFrames(); }
 
     // Setters
     public void setPosition(Vector2 position) {
         this.position.set(position);
     }
+    public void setPosition(float x, float y) { position.set(x, y); }
     public void setTimePerFrame(float time) {
         timePerFrame = time;
     }
@@ -130,6 +158,17 @@ public class Animation {
         totalPlays = 0;
         finished = false;
     }
+
+    /**
+     * Goes back to the first frame and the default timing, as if the animation had just been created <br>
+     *     The flip, offset and position are kept
+     */
+    public void rewind() {
+        reset();
+        currentFrame = 0;
+        sinceLastFrame = 0;
+        timePerFrame = def.getTimePerFrame();
+    }
     public void setOffset(float x, float y) {
         offsetX = x;
         offsetY = y;
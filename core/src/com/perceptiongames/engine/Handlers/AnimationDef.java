@@ -0,0 +1,81 @@
+package com.perceptiongames.engine.Handlers;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * The frames of an animation, cut from a sprite sheet once and shared by every Animation playing them <br>
+ *     A set of frames is made for each way the animation can be flipped, so drawing a frame is just an array lookup <br>
+ *     Frames are flipped vertically to start with, to suit the y-down camera
+ */
+public final class AnimationDef {
+
+    private static final int FLIP_X = 0x1;
+    private static final int FLIP_Y = 0x2;
+
+    // Indexed by the flip state then the frame
+    private final TextureRegion[][] frames;
+
+    private final int rows;
+    private final int columns;
+    private final int totalFrames;
+    private final float timePerFrame;
+
+    /**
+     * Creates the frames from a texture
+     * @param texture The sprite sheet for the animation
+     * @param rows How many rows the animation has
+     * @param columns How many columns the animation has
+     * @param timePerFrame How much time (in seconds) a frame lasts for
+     */
+    public AnimationDef(Texture texture, int rows, int columns, float timePerFrame) {
+        this(new TextureRegion(texture), rows, columns, timePerFrame);
+    }
+
+    /**
+     * Creates the frames from a region of a texture, such as one in an atlas
+     * @param sheet The region holding every frame of the animation
+     * @param rows How many rows the animation has
+     * @param columns How many columns the animation has
+     * @param timePerFrame How much time (in seconds) a frame lasts for
+     */
+    public AnimationDef(TextureRegion sheet, int rows, int columns, float timePerFrame) {
+        if(rows <= 0 || columns <= 0)
+            throw new IllegalArgumentException("Error: An animation needs at least one row and column, got " + rows + "x" + columns);
+
+        this.rows = rows;
+        this.columns = columns;
+        this.timePerFrame = timePerFrame;
+
+        totalFrames = rows * columns;
+
+        int width = sheet.getRegionWidth() / columns;
+        int height = sheet.getRegionHeight() / rows;
+
+        frames = new TextureRegion[4][totalFrames];
+        for (int flip = 0; flip < frames.length; flip++) {
+            for (int frame = 0; frame < totalFrames; frame++) {
+                TextureRegion region = new TextureRegion(sheet, (frame % columns) * width, (frame / columns) * height,
+                        width, height);
+                region.flip((flip & FLIP_X) == FLIP_X, (flip & FLIP_Y) != FLIP_Y);
+                frames[flip][frame] = region;
+            }
+        }
+    }
+
+    /**
+     * Gets a frame ready to draw
+     * @param frame The index of the frame
+     * @param flipX Whether the frame is flipped horizontally
+     * @param flipY Whether the frame is flipped vertically, on top of the flip for the camera
+     * @return The region for the frame
+     */
+    public TextureRegion getFrame(int frame, boolean flipX, boolean flipY) {
+        return frames[(flipX ? FLIP_X : 0) | (flipY ? FLIP_Y : 0)][frame];
+    }
+
+    public int getRows() { return rows; }
+    public int getColumns() { return columns; }
+    public int getTotalFrames() { return totalFrames; }
+    public float getTimePerFrame() { return timePerFrame; }
+}
@@ -0,0 +1,126 @@
+package com.perceptiongames.engine.Handlers;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.perceptiongames.engine.Entities.AABB;
+import com.perceptiongames.engine.Entities.Enemy;
+import com.perceptiongames.engine.Entities.Entity;
+import com.perceptiongames.engine.Entities.Player;
+
+/**
+ * Resolves weapon hits between the player and the live enemies, once per tick after the World has stepped <br>
+ *     Only the pairs the World found within reach of each other are tested <br>
+ *     Hits are remembered by swing so a weapon passing over a target for several ticks only hits it once <br>
+ *     The live enemies are also kept in a spatial hash, for queries further than anything can reach
+ */
+public class Combat {
+
+    // How far an enemy weapon can reach past the edge of the enemy
+    private static final float ENEMY_REACH = 16;
+    // The player's weapon reaches 22 past the side of the player, with some room for the player being pushed by terrain
+    private static final float PLAYER_REACH = 32;
+
+    private Player player;
+    private final World world;
+    private final SpatialHash<Enemy> enemies;
+
+    // The last swing of each enemy which hit the player, and the last player swing which hit each enemy
+    private final ObjectIntMap<Enemy> enemySwings;
+    private final ObjectIntMap<Enemy> playerSwings;
+
+    private CombatListener listener;
+
+    /**
+     * Creates a combat stage for the given player
+     * @param player The player fighting the enemies
+     * @param world The World the player and enemies are dynamic bodies in
+     * @param cellSize The size of the buckets used to look up enemies
+     */
+    public Combat(Player player, World world, float cellSize) {
+        this.player = player;
+        this.world = world;
+        world.setReach(player, PLAYER_REACH);
+
+        enemies = new SpatialHash<Enemy>(cellSize);
+
+        enemySwings = new ObjectIntMap<Enemy>();
+        playerSwings = new ObjectIntMap<Enemy>();
+    }
+
+    /**
+     * Gathers the weapon contacts for this tick and applies the hits
+     */
+    public void step() {
+        if(!player.isLive()) return;
+
+        AABB body = player.getAABB();
+        Array<Contact> contacts = world.getBodyContacts();
+
+        for(int i = 0; i < contacts.size && player.isLive(); i++) {
+            Enemy enemy = getEnemy(contacts.get(i));
+            if(enemy == null || !enemy.isAttacking() || enemySwings.get(enemy, -1) == enemy.getSwing()) continue;
+
+            if(enemy.getWeapon().overlaps(body)) {
+                enemySwings.put(enemy, enemy.getSwing());
+                player.hit();
+                if(listener != null) listener.onHit(CombatListener.Event.PLAYER_HIT, enemy, player);
+            }
+        }
+
+        if(!player.isAttacking()) return;
+
+        for(int i = 0; i < contacts.size; i++) {
+            Enemy enemy = getEnemy(contacts.get(i));
+            if(enemy == null || playerSwings.get(enemy, -1) == player.getSwing()) continue;
+
+            if(player.getWeapon().overlaps(enemy.getAABB())) {
+                playerSwings.put(enemy, player.getSwing());
+                enemy.hit();
+                if(!enemy.isLive()) enemies.remove(enemy);
+                if(listener != null) listener.onHit(CombatListener.Event.ENEMY_HIT, player, enemy);
+            }
+        }
+    }
+
+    // The enemy in a contact between the player and a live enemy in the fight, otherwise null
+    private Enemy getEnemy(Contact contact) {
+        Entity other;
+        if(contact.getBody() == player) other = contact.getOther();
+        else if(contact.getOther() == player) other = contact.getBody();
+        else return null;
+
+        if(!(other instanceof Enemy) || !enemies.contains((Enemy) other)) return null;
+        return (Enemy) other;
+    }
+
+    /**
+     * Adds a live enemy to the fight
+     * @param enemy The enemy to add
+     */
+    public void addEnemy(Enemy enemy) {
+        enemies.insert(enemy);
+        world.setReach(enemy, ENEMY_REACH);
+    }
+
+    /**
+     * Moves an enemy to its new position in the spatial hash, should be called after it moves
+     * @param enemy The enemy which moved
+     */
+    public void updateEnemy(Enemy enemy) { enemies.update(enemy); }
+
+    public void removeEnemy(Enemy enemy) {
+        enemies.remove(enemy);
+        enemySwings.remove(enemy, -1);
+        playerSwings.remove(enemy, -1);
+    }
+
+    public void clear() {
+        enemies.clear();
+        enemySwings.clear();
+        playerSwings.clear();
+    }
+
+    public SpatialHash<Enemy> getEnemies() { return enemies; }
+
+    public void setListener(CombatListener listener) { this.listener = listener; }
+}
@@ -0,0 +1,20 @@
+package com.perceptiongames.engine.Handlers;
+
+import com.perceptiongames.engine.Entities.Entity;
+
+/**
+ * Receives hit events from the Combat stage <br>
+ *     Each attack swing sends at most one event per target, no matter how many ticks the weapon overlaps it for
+ */
+public interface CombatListener {
+
+    enum Event { PLAYER_HIT, ENEMY_HIT }
+
+    /**
+     * Called when a weapon lands a hit
+     * @param event Whether the player or an enemy was hit
+     * @param attacker The entity holding the weapon
+     * @param target The entity which was hit
+     */
+    void onHit(Event event, Entity attacker, Entity target);
+}
@@ -0,0 +1,54 @@
+package com.perceptiongames.engine.Handlers;
+
+import com.badlogic.gdx.utils.Pool;
+import com.perceptiongames.engine.Entities.Entity;
+import com.perceptiongames.engine.Handlers.Terrain.Tile;
+
+/**
+ * A single overlap found by the World during a step <br>
+ *     A body can touch a static terrain cell, a dynamic tile or come within reach of another body
+ */
+public class Contact implements Pool.Poolable {
+
+    private Entity body;
+
+    private int cell;
+    private Tile tile;
+    private Entity other;
+
+    public Contact() { reset(); }
+
+    // Setters, only the World fills contacts in
+    void setCell(Entity body, int cell) {
+        this.body = body;
+        this.cell = cell;
+    }
+
+    void setTile(Entity body, Tile tile) {
+        this.body = body;
+        this.tile = tile;
+    }
+
+    void setOther(Entity body, Entity other) {
+        this.body = body;
+        this.other = other;
+    }
+
+    @Override
+    public void reset() {
+        body = null;
+        cell = -1;
+        tile = null;
+        other = null;
+    }
+
+    // Getters
+    public Entity getBody() { return body; }
+    public int getCell() { return cell; }
+    public Tile getTile() { return tile; }
+    public Entity getOther() { return other; }
+
+    public boolean isCell() { return cell >= 0; }
+    public boolean isTile() { return tile != null; }
+    public boolean isBody() { return other != null; }
+}
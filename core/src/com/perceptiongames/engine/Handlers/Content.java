@@ -1,28 +1,43 @@
 package com.perceptiongames.engine.Handlers;
 
+import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.perceptiongames.engine.Handlers.Terrain.RoomTemplates;
 
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.HashMap;
 
 public class Content {
 
     private HashMap<String, Texture> textures;
+    private HashMap<String, TextureRegion> regions;
     private HashMap<String, BitmapFont> fonts;
     private HashMap<String, Sound> sounds;
     private HashMap<String, Music> music;
 
+    private TextureAtlas atlas;
+    private RoomTemplates rooms;
+
     /**
      * Creates a new instance of the Content Manager
      */
     public Content() {
         textures = new HashMap<String, Texture>();
+        regions = new HashMap<String, TextureRegion>();
         fonts = new HashMap<String, BitmapFont>();
         sounds = new HashMap<String, Sound>();
         music = new HashMap<String, Music>();
@@ -48,6 +63,42 @@ public class Content {
         return textures.get(name);
     }
 
+    /**
+     * Loads the texture atlas which regions are taken from, built by the desktop packTextures task <br>
+     *     If the atlas doesn't exist every region is loaded from its own texture instead
+     * @param path The path relative to assets/ in which the atlas is located
+     */
+    public void loadAtlas(String path) {
+        if(Gdx.files.internal(path).exists())
+            atlas = new TextureAtlas(Gdx.files.internal(path));
+    }
+
+    /**
+     * Loads a Texture Region, from the atlas if it has been packed into it
+     * @param name The name used to retrieve the region
+     * @param path The path relative to assets/Textures/ in which the texture is located
+     */
+    public void loadRegion(String name, String path) {
+        // Packed regions are named by their path without the extension
+        TextureRegion region = atlas == null ? null : atlas.findRegion(path.substring(0, path.lastIndexOf('.')));
+        if(region == null)
+            region = new TextureRegion(new Texture("Textures/" + path));
+
+        regions.put(name, region);
+    }
+
+    /**
+     * Gets a texture region specified by name
+     * @param name The name of the region to be retrieved
+     * @return If the name matches then the region corresponding to it will be returned
+     */
+    public TextureRegion getRegion(String name) {
+        if(!regions.containsKey(name))
+            throw new IllegalArgumentException("Error: Unknown Texture Region " + name);
+
+        return regions.get(name);
+    }
+
     /**
      * Loads a font into memory
      * @param name The name used to retrieve the font
@@ -118,4 +169,57 @@ public class Content {
 
         return music.get(name);
     }
+
+    /**
+     * Loads the room templates, from the file compiled by the core compileRooms task if the build added one <br>
+     *     The task writes it into core's build directory whenever a template changes, and the launchers' builds add it
+     *     to their assets, so it is never older than the templates it was built from <br>
+     *     Otherwise, or if the compiled file can't be read, every template is read and checked instead
+     * @param path The path relative to assets/ in which the room type folders are located
+     */
+    public void loadRooms(String path) {
+        FileHandle compiled = Gdx.files.internal(path + ".bin");
+        if(compiled.exists()) {
+            try {
+                rooms = RoomTemplates.read(readBuffer(compiled));
+                return;
+            }
+            catch (IllegalArgumentException e) {
+                Gdx.app.error("Content", e.getMessage() + ", reading the templates instead");
+            }
+        }
+
+        rooms = RoomTemplates.load(Gdx.files.internal(path));
+    }
+
+    private ByteBuffer readBuffer(FileHandle file) {
+        // On desktop the assets are usually real files, so they can be mapped rather than copied
+        ApplicationType type = Gdx.app.getType();
+        if((type == ApplicationType.Desktop || type == ApplicationType.HeadlessDesktop) && file.file().isFile()) {
+            RandomAccessFile input = null;
+            try {
+                input = new RandomAccessFile(file.file(), "r");
+                return input.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, input.length());
+            }
+            catch (IOException e) {
+                Gdx.app.error("Content", "Could not map " + file.path() + ", reading it instead");
+            }
+            finally {
+                StreamUtils.closeQuietly(input);
+            }
+        }
+
+        return ByteBuffer.wrap(file.readBytes());
+    }
+
+    /**
+     * Gets the room templates
+     * @return The templates loaded by loadRooms
+     */
+    public RoomTemplates getRooms() {
+        if(rooms == null)
+            throw new IllegalArgumentException("Error: The room templates have not been loaded");
+
+        return rooms;
+    }
 }
@@ -0,0 +1,139 @@
+package com.perceptiongames.engine.Handlers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.perceptiongames.engine.Entities.AABB;
+
+/**
+ * A snapshot of the game controls for one tick, stored as a bit mask <br>
+ *     The game reads its input from here rather than Gdx.input, so a tick's input can be recorded or injected <br>
+ *     On screen buttons are controls too, a button's bit is down while the screen is touched inside its area
+ */
+public class Controls {
+
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int JUMP = 1 << 2;
+    public static final int ATTACK = 1 << 3;
+    public static final int RESET = 1 << 4;
+    public static final int CAMERA_LEFT = 1 << 5;
+    public static final int CAMERA_RIGHT = 1 << 6;
+    public static final int CAMERA_UP = 1 << 7;
+    public static final int CAMERA_DOWN = 1 << 8;
+    public static final int ZOOM_IN = 1 << 9;
+    public static final int ZOOM_OUT = 1 << 10;
+    public static final int DEATH_POINTS = 1 << 11;
+    public static final int QUIT = 1 << 12;
+    public static final int MUSIC = 1 << 13;
+    public static final int AUDIO = 1 << 14;
+
+    // Recordings store each state in 16 bits
+    private static final int MAX_CONTROLS = 16;
+
+    // The key for each bit in order, touching the screen is used for attacks
+    private static final int TOUCH = -1;
+    private static final int[] KEYS = {
+            Input.Keys.A, Input.Keys.D, Input.Keys.SPACE, TOUCH, Input.Keys.R,
+            Input.Keys.LEFT, Input.Keys.RIGHT, Input.Keys.UP, Input.Keys.DOWN,
+            Input.Keys.Q, Input.Keys.E, Input.Keys.P, Input.Keys.ESCAPE
+    };
+
+    // The screen area bound to each bit and the camera it is in, if any
+    private final AABB[] areas;
+    private final Camera[] cameras;
+    private final Vector3 touch;
+    private final Vector2 point;
+
+    private int state;
+    private int previous;
+
+    public Controls() {
+        areas = new AABB[MAX_CONTROLS];
+        cameras = new Camera[MAX_CONTROLS];
+        touch = new Vector3();
+        point = new Vector2();
+    }
+
+    /**
+     * Makes an area of the screen act as a control, which is down while it is touched
+     * @param control The control, a single bit
+     * @param area The area, which can move after it is bound
+     * @param camera The camera the area is in
+     */
+    public void bind(int control, AABB area, Camera camera) {
+        int index = getIndex(control);
+        areas[index] = area;
+        cameras[index] = camera;
+    }
+
+    /**
+     * Removes the screen area from a control
+     * @param control The control, a single bit
+     */
+    public void unbind(int control) {
+        int index = getIndex(control);
+        areas[index] = null;
+        cameras[index] = null;
+    }
+
+    /**
+     * Reads the controls for the next tick from Gdx.input
+     * @return The new state
+     */
+    public int poll() {
+        int next = 0;
+        for (int i = 0; i < KEYS.length; i++) {
+            boolean down = KEYS[i] == TOUCH ? Gdx.input.isTouched() : Gdx.input.isKeyPressed(KEYS[i]);
+            if(down) next |= 1 << i;
+        }
+
+        if(Gdx.input.isTouched()) {
+            for (int i = 0; i < areas.length; i++) {
+                if(areas[i] == null) continue;
+
+                touch.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+                cameras[i].unproject(touch);
+                if(areas[i].contains(point.set(touch.x, touch.y))) next |= 1 << i;
+            }
+        }
+
+        set(next);
+        return next;
+    }
+
+    /**
+     * Sets the controls for the next tick
+     * @param state The bit mask of the controls which are held down
+     */
+    public void set(int state) {
+        previous = this.state;
+        this.state = state;
+    }
+
+    /**
+     * Checks whether a control is held down this tick
+     * @param control The control to check
+     * @return True if it is down
+     */
+    public boolean isDown(int control) { return (state & control) == control; }
+
+    /**
+     * Checks whether a control went down this tick, having been up on the last one
+     * @param control The control to check
+     * @return True if it was just pressed
+     */
+    public boolean isPressed(int control) { return isDown(control) && (previous & control) != control; }
+
+    public int getState() { return state; }
+
+    private static int getIndex(int control) {
+        int index = Integer.numberOfTrailingZeros(control);
+        if(control == 0 || control != 1 << index || index >= MAX_CONTROLS)
+            throw new IllegalArgumentException("Error: Control " + control + " is not a single control bit");
+
+        return index;
+    }
+}
@@ -52,6 +52,14 @@ public class GameStateManager {
         states.push(getState(state));
     }
 
+    /**
+     * Starts Play on a level generated from the given seed
+     * @param seed The seed for the run
+     */
+    public void pushPlay(long seed) {
+        states.push(new Play(this, seed));
+    }
+
     public void popState() {
         State s = states.pop();
         if(s != null) {
@@ -61,6 +69,15 @@ public class GameStateManager {
 
     public State get(int index) { return  states.elementAt(index); }
 
-    public void update(float dt) { states.peek().update(dt); }
-    public void render() { states.peek().render(); }
+    public void update(float dt) {
+        Profiler.begin(Profiler.UPDATE);
+        states.peek().update(dt);
+        Profiler.end(Profiler.UPDATE);
+    }
+
+    public void render() {
+        Profiler.begin(Profiler.RENDER);
+        states.peek().render();
+        Profiler.end(Profiler.RENDER);
+    }
 }
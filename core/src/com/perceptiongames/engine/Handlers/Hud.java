@@ -0,0 +1,181 @@
+package com.perceptiongames.engine.Handlers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Disposable;
+import com.perceptiongames.engine.Entities.Button;
+
+/**
+ * The heads up display for Play, drawn into a frame buffer which is only redrawn when something on it changes <br>
+ *     Each value keeps its laid out text, which is only laid out again when the value changes <br>
+ *     Every other frame just draws the frame buffer over the world
+ */
+public class Hud implements Disposable {
+
+    private static final Color PANEL = new Color(253f/255, 0, 0, 0.6f);
+    private static final Color PANEL_EDGE = new Color(253f/255, 0, 0, 0.75f);
+
+    private static final float PANEL_WIDTH = 200;
+    private static final float PANEL_HEIGHT = 75;
+    private static final float PANEL_POINT = 175;
+
+    private final OrthographicCamera camera;
+    private final BitmapFont font;
+
+    private final Button musicToggle;
+    private final Button audioToggle;
+
+    private final GlyphLayout level;
+    private final GlyphLayout time;
+    private final GlyphLayout deaths;
+    private final GlyphLayout kills;
+
+    // The values currently laid out, -1 until they are first set
+    private int levelValue = -1;
+    private int timeValue = -1;
+    private int deathsValue = -1;
+    private int killsValue = -1;
+
+    private FrameBuffer layer;
+    private boolean dirty;
+
+    /**
+     * Creates the HUD and moves the toggle buttons into the right hand panel
+     * @param camera The y-down camera the HUD is drawn with
+     * @param font The font to write the values with
+     * @param musicToggle The button which turns the music on and off
+     * @param audioToggle The button which turns the sound effects on and off
+     */
+    public Hud(OrthographicCamera camera, BitmapFont font, Button musicToggle, Button audioToggle) {
+        this.camera = camera;
+        this.font = font;
+        this.musicToggle = musicToggle;
+        this.audioToggle = audioToggle;
+
+        level = new GlyphLayout();
+        time = new GlyphLayout();
+        deaths = new GlyphLayout();
+        kills = new GlyphLayout();
+
+        musicToggle.setPosition(camera.viewportWidth - 170, 21);
+        audioToggle.setPosition(camera.viewportWidth - 70, 21);
+
+        dirty = true;
+    }
+
+    public void setLevel(int value) {
+        if(value == levelValue) return;
+        levelValue = value;
+        layout(level, "Level: " + value);
+    }
+
+    public void setTime(int value) {
+        if(value == timeValue) return;
+        timeValue = value;
+        layout(time, "Time: " + value);
+    }
+
+    public void setDeaths(int value) {
+        if(value == deathsValue) return;
+        deathsValue = value;
+        layout(deaths, "Death Count: " + value);
+    }
+
+    public void setKills(int value) {
+        if(value == killsValue) return;
+        killsValue = value;
+        layout(kills, "Enemies Killed: " + value);
+    }
+
+    /**
+     * Marks the HUD to be redrawn, for changes it can't see such as a button changing animation
+     */
+    public void invalidate() { dirty = true; }
+
+    /**
+     * Draws the HUD, redrawing its frame buffer first if anything has changed
+     * @param batch The Sprite Batch to draw with, its projection is left set to the HUD camera
+     * @param shapes The Shape Renderer to draw the panels with
+     */
+    public void render(SpriteBatch batch, ShapeRenderer shapes) {
+        int width = (int) camera.viewportWidth;
+        int height = (int) camera.viewportHeight;
+
+        if(layer == null || layer.getWidth() != width || layer.getHeight() != height) {
+            if(layer != null) layer.dispose();
+            layer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+            dirty = true;
+        }
+
+        batch.setProjectionMatrix(camera.combined);
+        if(dirty) {
+            redraw(batch, shapes);
+            dirty = false;
+        }
+
+        // The layer holds premultiplied colours, see redraw
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.begin();
+        batch.draw(layer.getColorBufferTexture(), 0, 0, width, height);
+        batch.end();
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    private void redraw(SpriteBatch batch, ShapeRenderer shapes) {
+        float right = camera.viewportWidth;
+
+        layer.begin();
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        // Alpha is added rather than multiplied, so the layer blends over the world the same as drawing directly would
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFuncSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        shapes.setProjectionMatrix(camera.combined);
+        shapes.begin(ShapeRenderer.ShapeType.Filled);
+        shapes.rect(0, -1, PANEL_WIDTH, PANEL_HEIGHT, PANEL, PANEL, PANEL, PANEL);
+        shapes.triangle(PANEL_WIDTH, -1, PANEL_WIDTH, PANEL_HEIGHT - 1, PANEL_WIDTH + PANEL_POINT, -1,
+                PANEL, PANEL, PANEL_EDGE);
+
+        shapes.rect(right - PANEL_WIDTH, -1, PANEL_WIDTH, PANEL_HEIGHT, PANEL, PANEL, PANEL, PANEL);
+        shapes.triangle(right - PANEL_WIDTH, -1, right - PANEL_WIDTH, PANEL_HEIGHT - 1, right - PANEL_WIDTH - PANEL_POINT, -1,
+                PANEL, PANEL, PANEL_EDGE);
+        shapes.end();
+
+        // Stops the batch setting its own blend function over the one above
+        batch.setBlendFunction(-1, -1);
+        batch.begin();
+        musicToggle.render(batch);
+        audioToggle.render(batch);
+        font.draw(batch, level, right - 140, 4);
+        font.draw(batch, time, 20, 5);
+        font.draw(batch, deaths, 20, 30);
+        font.draw(batch, kills, 20, 55);
+        batch.end();
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        layer.end();
+    }
+
+    private void layout(GlyphLayout layout, String text) {
+        layout.setText(font, text, Color.BLACK, 0, Align.left, false);
+        dirty = true;
+    }
+
+    @Override
+    public void dispose() {
+        if(layer != null) layer.dispose();
+        layer = null;
+    }
+}
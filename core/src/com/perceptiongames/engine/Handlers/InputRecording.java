@@ -0,0 +1,145 @@
+package com.perceptiongames.engine.Handlers;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The controls for every tick of a run along with the seed and tick rate it was played at <br>
+ *     Ticks are run length encoded, as the controls rarely change from one tick to the next
+ */
+public class InputRecording {
+
+    private static final int MAGIC = 0x50455250;
+    private static final int VERSION = 2;
+
+    private final long seed;
+    private final int tickRate;
+
+    private final IntArray states;
+    private final IntArray lengths;
+    private int length;
+
+    // Where the last lookup ended, so reading the ticks in order is constant time
+    private int run;
+    private int runStart;
+
+    /**
+     * Creates an empty recording
+     * @param seed The seed the level was generated from
+     * @param tickRate The number of ticks per second the run was played at, replaying at any other rate goes out of sync
+     */
+    public InputRecording(long seed, int tickRate) {
+        if(tickRate <= 0) throw new IllegalArgumentException("Error: The tick rate must be positive, got " + tickRate);
+
+        this.seed = seed;
+        this.tickRate = tickRate;
+
+        states = new IntArray();
+        lengths = new IntArray();
+        length = 0;
+    }
+
+    /**
+     * Adds the next tick to the end of the recording
+     * @param state The bit mask of the controls held during the tick
+     */
+    public void add(int state) {
+        if(states.size > 0 && states.peek() == state) {
+            lengths.incr(lengths.size - 1, 1);
+        }
+        else {
+            states.add(state);
+            lengths.add(1);
+        }
+
+        length++;
+    }
+
+    /**
+     * Gets the controls for a tick
+     * @param tick The tick, starting from 0
+     * @return The bit mask of the controls held during the tick
+     */
+    public int get(int tick) {
+        if(tick < 0 || tick >= length) throw new IllegalArgumentException("Error: Tick " + tick + " is not in the recording");
+
+        if(tick < runStart) {
+            run = 0;
+            runStart = 0;
+        }
+
+        while (tick >= runStart + lengths.get(run)) {
+            runStart += lengths.get(run);
+            run++;
+        }
+
+        return states.get(run);
+    }
+
+    /**
+     * Writes the recording to a stream
+     * @param stream The stream to write to, is closed afterwards
+     * @throws IOException If the stream could not be written to
+     */
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeInt(tickRate);
+            out.writeInt(states.size);
+            for (int i = 0; i < states.size; i++) {
+                out.writeShort(states.get(i));
+                out.writeInt(lengths.get(i));
+            }
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads a recording written by write
+     * @param stream The stream to read from, is closed afterwards
+     * @return The recording
+     * @throws IOException If the stream could not be read or is not a recording
+     */
+    public static InputRecording read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        try {
+            if(in.readInt() != MAGIC) throw new IOException("Error: Not an input recording");
+
+            int version = in.readInt();
+            if(version != VERSION) throw new IOException("Error: Unsupported recording version " + version);
+
+            long seed = in.readLong();
+            int tickRate = in.readInt();
+            if(tickRate <= 0) throw new IOException("Error: Invalid tick rate " + tickRate + " in the recording");
+
+            InputRecording recording = new InputRecording(seed, tickRate);
+            int runs = in.readInt();
+            for (int i = 0; i < runs; i++) {
+                recording.states.add(in.readUnsignedShort());
+
+                int count = in.readInt();
+                recording.lengths.add(count);
+                recording.length += count;
+            }
+
+            return recording;
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    public long getSeed() { return seed; }
+    public int getTickRate() { return tickRate; }
+    public int getLength() { return length; }
+}
@@ -0,0 +1,158 @@
+package com.perceptiongames.engine.Handlers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+import java.util.Arrays;
+
+/**
+ * Times the phases of each frame with System.nanoTime <br>
+ *     Keeps the last few seconds of frames for percentiles, and can capture every frame to a CSV file <br>
+ *     When disabled each call is a single field check
+ */
+public final class Profiler {
+
+    // Phases
+    public static final int UPDATE = 0;
+    public static final int RENDER = 1;
+    public static final int INPUT = 2;
+    public static final int ENTITIES = 3;
+    public static final int TILES = 4;
+    public static final int PHYSICS = 5;
+    public static final int COMBAT = 6;
+    public static final int WORLD_RENDER = 7;
+    public static final int HUD = 8;
+
+    private static final String[] NAMES = {
+            "Update", "Render", "Input", "Entities", "Tiles", "Physics", "Combat", "World render", "HUD"
+    };
+    private static final int PHASES = NAMES.length;
+
+    // Four seconds of frames at 60fps, with the overlay text rebuilt twice a second
+    private static final int FRAMES = 240;
+    private static final int REFRESH = 30;
+
+    private static boolean enabled = false;
+
+    private static final long[] starts = new long[PHASES];
+    private static final long[] totals = new long[PHASES];
+
+    private static final float[][] history = new float[PHASES][FRAMES];
+    private static final float[] sorted = new float[FRAMES];
+    private static int frame = 0;
+    private static int frames = 0;
+
+    private static final String[] lines = new String[PHASES + 1];
+
+    private static StringBuilder capture;
+
+    private Profiler() {}
+
+    /**
+     * Starts timing a phase
+     * @param phase The phase to time
+     */
+    public static void begin(int phase) {
+        if(!enabled) return;
+        starts[phase] = System.nanoTime();
+    }
+
+    /**
+     * Stops timing a phase, adding the time to the phase's total for this frame
+     * @param phase The phase to stop timing
+     */
+    public static void end(int phase) {
+        if(!enabled) return;
+        totals[phase] += System.nanoTime() - starts[phase];
+    }
+
+    /**
+     * Stores the totals for the frame which just finished and starts a new one
+     */
+    public static void endFrame() {
+        if(!enabled) return;
+
+        for (int i = 0; i < PHASES; i++) {
+            history[i][frame] = totals[i] / 1e6f;
+            totals[i] = 0;
+        }
+
+        if(capture != null) {
+            capture.append(frames);
+            for (int i = 0; i < PHASES; i++) capture.append(',').append(history[i][frame]);
+            capture.append('\n');
+        }
+
+        frame = (frame + 1) % FRAMES;
+        frames++;
+        if(frames % REFRESH == 0) buildLines();
+    }
+
+    /**
+     * Draws the percentiles for each phase, the batch must already have begun
+     * @param batch The Sprite Batch to draw with
+     * @param font The font to draw with
+     * @param x The X coordinate of the top left of the overlay
+     * @param y The Y coordinate of the top left of the overlay
+     */
+    public static void render(SpriteBatch batch, BitmapFont font, float x, float y) {
+        if(!enabled) return;
+
+        for (int i = 0; i < lines.length; i++) {
+            if(lines[i] != null) font.draw(batch, lines[i], x, y + (i * font.getLineHeight()));
+        }
+    }
+
+    private static void buildLines() {
+        int count = Math.min(frames, FRAMES);
+
+        lines[0] = String.format("%-14s %7s %7s %7s %7s", "Phase (ms)", "p50", "p95", "p99", "max");
+        for (int i = 0; i < PHASES; i++) {
+            System.arraycopy(history[i], 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+
+            lines[i + 1] = String.format("%-14s %7.3f %7.3f %7.3f %7.3f", NAMES[i],
+                    percentile(count, 0.5f), percentile(count, 0.95f), percentile(count, 0.99f), sorted[count - 1]);
+        }
+    }
+
+    private static float percentile(int count, float p) { return sorted[Math.min((int) (count * p), count - 1)]; }
+
+    /**
+     * Starts capturing every frame, enabling the profiler if needed
+     */
+    public static void startCapture() {
+        setEnabled(true);
+
+        capture = new StringBuilder("frame");
+        for(String name : NAMES) capture.append(',').append(name);
+        capture.append('\n');
+    }
+
+    /**
+     * Stops capturing and writes the frames captured as CSV, one row per frame with the milliseconds for each phase
+     * @param file The file to write to
+     */
+    public static void stopCapture(FileHandle file) {
+        if(capture == null) return;
+
+        file.writeString(capture.toString(), false);
+        Gdx.app.log("Profiler", "Wrote " + file.path());
+        capture = null;
+    }
+
+    public static void setEnabled(boolean enable) {
+        if(enable && !enabled) {
+            Arrays.fill(totals, 0);
+            frame = frames = 0;
+            Arrays.fill(lines, null);
+        }
+
+        enabled = enable;
+    }
+
+    public static boolean isEnabled() { return enabled; }
+    public static boolean isCapturing() { return capture != null; }
+}
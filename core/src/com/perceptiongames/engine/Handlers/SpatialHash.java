@@ -0,0 +1,143 @@
+package com.perceptiongames.engine.Handlers;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.perceptiongames.engine.Entities.AABB;
+import com.perceptiongames.engine.Entities.Entity;
+
+/**
+ * A spatial hash of entities for proximity queries <br>
+ *     Each entity lives in the bucket containing its centre and only changes bucket when it crosses a cell edge
+ * @param <T> The type of entity stored
+ */
+public class SpatialHash<T extends Entity> {
+
+    private final float cellSize;
+
+    private final IntMap<Array<T>> buckets;
+    private final ObjectIntMap<T> keys;
+
+    // Entities are bucketed by their centre, so queries are grown by the largest half size seen
+    private float maxHalfSize;
+
+    /**
+     * Creates an empty spatial hash
+     * @param cellSize The width and height of each bucket in world units
+     */
+    public SpatialHash(float cellSize) {
+        this.cellSize = cellSize;
+
+        buckets = new IntMap<Array<T>>();
+        keys = new ObjectIntMap<T>();
+
+        maxHalfSize = 0;
+    }
+
+    /**
+     * Adds an entity to the hash, does nothing if it is already in it
+     * @param entity The entity to add
+     */
+    public void insert(T entity) {
+        if(keys.containsKey(entity)) return;
+
+        AABB aabb = entity.getAABB();
+        maxHalfSize = Math.max(maxHalfSize, Math.max(aabb.getHalfSize().x, aabb.getHalfSize().y));
+
+        int key = getKey(aabb.getCentre().x, aabb.getCentre().y);
+        keys.put(entity, key);
+        getBucket(key).add(entity);
+    }
+
+    /**
+     * Removes an entity from the hash
+     * @param entity The entity to remove
+     */
+    public void remove(T entity) {
+        if(!keys.containsKey(entity)) return;
+
+        int key = keys.remove(entity, 0);
+        buckets.get(key).removeValue(entity, true);
+    }
+
+    /**
+     * Moves an entity to the right bucket after it has moved <br>
+     *     Nothing happens unless its centre has crossed into another cell
+     * @param entity The entity which moved
+     */
+    public void update(T entity) {
+        if(!keys.containsKey(entity)) return;
+
+        int old = keys.get(entity, 0);
+        int key = getKey(entity.getAABB().getCentre().x, entity.getAABB().getCentre().y);
+        if(key == old) return;
+
+        buckets.get(old).removeValue(entity, true);
+        keys.put(entity, key);
+        getBucket(key).add(entity);
+    }
+
+    public void clear() {
+        for(Array<T> bucket : buckets.values()) bucket.clear();
+        keys.clear();
+        maxHalfSize = 0;
+    }
+
+    /**
+     * Finds every entity whose AABB overlaps the given area
+     * @param minX The left edge of the area
+     * @param minY The top edge of the area
+     * @param maxX The right edge of the area
+     * @param maxY The bottom edge of the area
+     * @param out The array the results are added to
+     * @return The out array
+     */
+    public Array<T> query(float minX, float minY, float maxX, float maxY, Array<T> out) {
+        int minCol = getCell(minX - maxHalfSize);
+        int maxCol = getCell(maxX + maxHalfSize);
+        int minRow = getCell(minY - maxHalfSize);
+        int maxRow = getCell(maxY + maxHalfSize);
+
+        for (int i = minCol; i <= maxCol; i++) {
+            for (int j = minRow; j <= maxRow; j++) {
+                Array<T> bucket = buckets.get(getKey(i, j));
+                if(bucket == null) continue;
+
+                for (int k = 0; k < bucket.size; k++) {
+                    AABB aabb = bucket.get(k).getAABB();
+                    if(aabb.getMinX() <= maxX && aabb.getMaxX() >= minX && aabb.getMinY() <= maxY && aabb.getMaxY() >= minY)
+                        out.add(bucket.get(k));
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Finds every entity whose AABB overlaps another
+     * @param aabb The AABB to query with
+     * @param out The array the results are added to
+     * @return The out array
+     */
+    public Array<T> query(AABB aabb, Array<T> out) {
+        return query(aabb.getMinX(), aabb.getMinY(), aabb.getMaxX(), aabb.getMaxY(), out);
+    }
+
+    private Array<T> getBucket(int key) {
+        Array<T> bucket = buckets.get(key);
+        if(bucket == null) {
+            bucket = new Array<T>(false, 4);
+            buckets.put(key, bucket);
+        }
+
+        return bucket;
+    }
+
+    private int getCell(float v) { return (int) Math.floor(v / cellSize); }
+    private int getKey(float x, float y) { return getKey(getCell(x), getCell(y)); }
+    private int getKey(int column, int row) { return (column << 16) ^ (row & 0xFFFF); }
+
+    public boolean contains(T entity) { return keys.containsKey(entity); }
+    public int size() { return keys.size; }
+}
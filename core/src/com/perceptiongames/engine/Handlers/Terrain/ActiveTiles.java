@@ -0,0 +1,72 @@
+package com.perceptiongames.engine.Handlers.Terrain;
+
+/**
+ * The dynamic tiles of a level which are currently awake and need updating every tick <br>
+ *     Tiles enable and disable themselves in constant time as they wake and sleep
+ */
+public class ActiveTiles {
+
+    private Tile[] tiles;
+    private int size;
+
+    public ActiveTiles() {
+        tiles = new Tile[16];
+        size = 0;
+    }
+
+    /**
+     * Adds a tile to the active set, does nothing if it is already in it
+     * @param tile The tile to enable
+     */
+    void enable(Tile tile) {
+        if(tile.registryIndex >= 0) return;
+
+        if(size == tiles.length) {
+            Tile[] grown = new Tile[size * 2];
+            System.arraycopy(tiles, 0, grown, 0, size);
+            tiles = grown;
+        }
+
+        tile.registryIndex = size;
+        tiles[size++] = tile;
+    }
+
+    /**
+     * Removes a tile from the active set by swapping the last tile into its place
+     * @param tile The tile to disable
+     */
+    void disable(Tile tile) {
+        int index = tile.registryIndex;
+        if(index < 0) return;
+
+        Tile last = tiles[--size];
+        tiles[index] = last;
+        last.registryIndex = index;
+
+        tiles[size] = null;
+        tile.registryIndex = -1;
+    }
+
+    /**
+     * Updates every active tile <br>
+     *     Tiles may disable themselves while updating
+     * @param dt The time since the last update
+     */
+    public void update(float dt) {
+        // Walk backwards so a tile swapped in by a removal has already been updated
+        for (int i = size - 1; i >= 0; i--) {
+            tiles[i].update(dt);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            tiles[i].registryIndex = -1;
+            tiles[i] = null;
+        }
+        size = 0;
+    }
+
+    public Tile get(int index) { return tiles[index]; }
+    public int size() { return size; }
+}
@@ -1,53 +1,82 @@
 package com.perceptiongames.engine.Handlers.Terrain;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool;
 import com.perceptiongames.engine.Entities.AABB;
 
-public class FallingBlock extends Tile {
+public class FallingBlock extends Tile implements Pool.Poolable {
 
-    private Texture texture;
+    private TextureRegion texture;
 
     private Vector2 initialPos;
 
     private float velocity;
     private float yBound;
 
+    // Where the block was at the start of the last tick, to draw it between ticks
+    private float previousY;
+
     private boolean isPlayerColliding;
 
     private boolean alive;
 
-    public FallingBlock(Texture texture, AABB aabb) {
+    public FallingBlock(TextureRegion texture, AABB aabb) {
         super(aabb);
-        this.texture = texture;
-        active = false;
-
-        isPlayerColliding = false;
-        alive = true;
 
-        yBound = aabb.getPosition().y + (Tile.SIZE * 3);
+        this.texture = new TextureRegion();
+        initialPos = new Vector2();
+        init(texture, aabb.getCentre().x, aabb.getCentre().y);
+    }
 
-        initialPos = new Vector2(aabb.getPosition());
+    /**
+     * Places the block, used both when it is created and when it is taken from a pool
+     * @param texture The region to draw the block with
+     * @param centreX The x coordinate of the centre of the block
+     * @param centreY The y coordinate of the centre of the block
+     */
+    public void init(TextureRegion texture, float centreX, float centreY) {
+        // A copy, so it can be flipped for the y-down camera without flipping the shared region
+        this.texture.setRegion(texture);
+        this.texture.flip(false, true);
+
+        aabb.setCentre(centreX, centreY);
+        initialPos.set(aabb.getMinX(), aabb.getMinY());
+        yBound = aabb.getMinY() + (Tile.SIZE * 3);
+
+        reset();
     }
 
     @Override
-    public void render(SpriteBatch batch) {
+    public void render(SpriteBatch batch) { render(batch, 1); }
+
+    @Override
+    public void render(SpriteBatch batch, float alpha) {
         if(!alive) return;
-        batch.draw(texture, aabb.getPosition().x, aabb.getPosition().y, texture.getWidth(), texture.getHeight(),
-                0, 0, texture.getWidth(), texture.getHeight(), false, true);
+        float y = previousY + ((aabb.getMinY() - previousY) * alpha);
+        batch.draw(texture, aabb.getMinX(), y);
     }
 
     @Override
     public void update(float dt) {
+        previousY = aabb.getMinY();
         if(active && isPlayerColliding && alive) {
-            float newPos = aabb.getPosition().y + (velocity * dt);
-            aabb.setPosition(aabb.getPosition().x, newPos);
-
-            if(aabb.getPosition().y >= yBound) alive = false;
+            float newPos = aabb.getMinY() + (velocity * dt);
+            aabb.setPosition(aabb.getMinX(), newPos);
+
+            if(aabb.getMinY() >= yBound) {
+                alive = false;
+                // Nothing is left to update or hit, so it sleeps until it is reset
+                setActive(false);
+            }
         }
     }
 
+    // A block which has fallen away can't be woken again until it is reset
+    @Override
+    public void setActive(boolean a) { super.setActive(a && alive); }
+
     public float getVelocity() { return velocity; }
     public boolean isAlive() { return alive; }
     public boolean isPlayerColliding() { return isPlayerColliding; }
@@ -55,11 +84,16 @@ public class FallingBlock extends Tile {
     public void setPlayerColliding(boolean c) { isPlayerColliding = c; }
     public void setVelocity(float y) { velocity = y; }
 
+    /**
+     * Puts the block back where it started, after the player dies or when it is freed back to its pool
+     */
+    @Override
     public void reset() {
-        System.out.println("Resetting");
         aabb.setPosition(initialPos);
+        previousY = aabb.getMinY();
         alive = true;
-        active = false;
+        setActive(false);
         isPlayerColliding = false;
+        velocity = 0;
     }
 }
@@ -0,0 +1,33 @@
+package com.perceptiongames.engine.Handlers.Terrain;
+
+import com.badlogic.gdx.math.Vector2;
+import com.perceptiongames.engine.Entities.Enemy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the TerrainGenerator builds for one level <br>
+ *     A level has no GL resources, so it can be built on any thread and handed to Play whole <br>
+ *     There is one for each of the generator's tile maps, which is refilled each time the map is rebuilt
+ */
+public class Level {
+
+    private final TileMap terrain;
+    private final List<Enemy> enemies;
+    private final Vector2 startPosition;
+    private long seed;
+
+    Level(TileMap terrain) {
+        this.terrain = terrain;
+        enemies = new ArrayList<Enemy>();
+        startPosition = new Vector2();
+    }
+
+    void setSeed(long seed) { this.seed = seed; }
+
+    public TileMap getTerrain() { return terrain; }
+    public List<Enemy> getEnemies() { return enemies; }
+    public Vector2 getStartPosition() { return startPosition; }
+    public long getSeed() { return seed; }
+}
@@ -0,0 +1,29 @@
+package com.perceptiongames.engine.Handlers.Terrain;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Compiles the room template text files into the binary file the game loads, run by the core compileRooms task <br>
+ *     Any malformed template stops the compile with an error, failing the build
+ */
+public class RoomCompiler {
+
+    /**
+     * @param args The directory holding the room type folders, then the file to write
+     * @throws IOException If the compiled file could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length != 2)
+            throw new IllegalArgumentException("Error: Usage is RoomCompiler <rooms directory> <output file>");
+
+        RoomTemplates templates = RoomTemplates.load(new FileHandle(new File(args[0])));
+
+        FileHandle output = new FileHandle(new File(args[1]));
+        templates.write(output.write(false));
+
+        System.out.println("Compiled " + templates.size() + " rooms into " + output.path() + " (" + output.length() + " bytes)");
+    }
+}
@@ -0,0 +1,228 @@
+package com.perceptiongames.engine.Handlers.Terrain;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Every room template, read and checked once and kept as grids of cells for each RoomType <br>
+ *     A grid holds the characters from the template file, row by row, one byte per cell <br>
+ *     The templates can be compiled into a single binary file by the core compileRooms task, which is much
+ *     quicker to load than reading every text file
+ */
+public class RoomTemplates {
+
+    // Every character a template can contain
+    static final String CELLS = "0129467PERLSTV";
+
+    public static final int ROOM_SIZE = TerrainGenerator.ROOM_WIDTH * TerrainGenerator.ROOM_HEIGHT;
+
+    // The compiled format, cells are stored as their index in CELLS, two to a byte
+    private static final int MAGIC = 0x524F4F4D;
+    private static final int VERSION = 1;
+    private static final int PACKED_SIZE = (ROOM_SIZE + 1) / 2;
+
+    // Indexed by the room type's ordinal then the template number
+    private final byte[][][] rooms;
+
+    private RoomTemplates(byte[][][] rooms) {
+        this.rooms = rooms;
+    }
+
+    /**
+     * Reads every template from a directory with a folder per room type, each holding files named 0, 1, 2...
+     * @param directory The directory holding the room type folders
+     * @return The templates
+     */
+    public static RoomTemplates load(FileHandle directory) {
+        byte[][][] rooms = new byte[RoomType.values().length][][];
+
+        for (RoomType type : RoomType.values()) {
+            FileHandle folder = directory.child(type.PATH);
+
+            // Internal folders can't be listed from inside a jar, so the files are found by counting up until one is missing
+            Array<byte[]> found = new Array<byte[]>();
+            FileHandle file = folder.child("0");
+            while (file.exists()) {
+                found.add(parse(file.readString(), file.path()));
+                file = folder.child(String.valueOf(found.size));
+            }
+
+            if(found.size == 0)
+                throw new IllegalArgumentException("Error: No room templates found in " + folder.path());
+
+            rooms[type.ordinal()] = found.toArray(byte[].class);
+        }
+
+        return new RoomTemplates(rooms);
+    }
+
+    /**
+     * Reads templates compiled by write
+     * @param buffer The whole compiled file
+     * @return The templates
+     */
+    public static RoomTemplates read(ByteBuffer buffer) {
+        try {
+            if(buffer.getInt() != MAGIC) throw new IllegalArgumentException("Error: Not a compiled room file");
+
+            int version = buffer.getInt();
+            if(version != VERSION) throw new IllegalArgumentException("Error: Unsupported room file version " + version);
+
+            int width = buffer.getShort();
+            int height = buffer.getShort();
+            if(width != TerrainGenerator.ROOM_WIDTH || height != TerrainGenerator.ROOM_HEIGHT)
+                throw new IllegalArgumentException("Error: Compiled rooms are " + width + "x" + height + ", expected "
+                        + TerrainGenerator.ROOM_WIDTH + "x" + TerrainGenerator.ROOM_HEIGHT);
+
+            int types = buffer.getShort();
+            if(types != RoomType.values().length)
+                throw new IllegalArgumentException("Error: Compiled rooms have " + types + " room types, expected "
+                        + RoomType.values().length);
+
+            // The index gives the number of templates of each type and where their cells start
+            int[] counts = new int[types];
+            int[] offsets = new int[types];
+            for (int i = 0; i < types; i++) {
+                counts[i] = buffer.getShort();
+                offsets[i] = buffer.getInt();
+            }
+
+            int cellsStart = buffer.position();
+            byte[][][] rooms = new byte[types][][];
+            for (int i = 0; i < types; i++) {
+                if(counts[i] <= 0) throw new IllegalArgumentException("Error: No compiled rooms of type " + RoomType.values()[i]);
+
+                buffer.position(cellsStart + offsets[i]);
+                rooms[i] = new byte[counts[i]][];
+                for (int j = 0; j < counts[i]; j++) {
+                    rooms[i][j] = unpack(buffer);
+                }
+            }
+
+            return new RoomTemplates(rooms);
+        }
+        catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Error: The compiled room file is truncated");
+        }
+    }
+
+    /**
+     * Writes the templates in the compiled format
+     * @param stream The stream to write to, is closed afterwards
+     * @throws IOException If the stream could not be written to
+     */
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeShort(TerrainGenerator.ROOM_WIDTH);
+            out.writeShort(TerrainGenerator.ROOM_HEIGHT);
+            out.writeShort(rooms.length);
+
+            int offset = 0;
+            for (byte[][] type : rooms) {
+                out.writeShort(type.length);
+                out.writeInt(offset);
+                offset += type.length * PACKED_SIZE;
+            }
+
+            for (byte[][] type : rooms) {
+                for (byte[] room : type) {
+                    out.write(pack(room));
+                }
+            }
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    private static byte[] pack(byte[] cells) {
+        byte[] packed = new byte[PACKED_SIZE];
+        for (int i = 0; i < cells.length; i++) {
+            int code = CELLS.indexOf(cells[i]);
+            packed[i / 2] |= (i % 2 == 0) ? code << 4 : code;
+        }
+
+        return packed;
+    }
+
+    private static byte[] unpack(ByteBuffer buffer) {
+        byte[] cells = new byte[ROOM_SIZE];
+        for (int i = 0; i < PACKED_SIZE; i++) {
+            int packed = buffer.get() & 0xFF;
+            int[] codes = { packed >> 4, packed & 0xF };
+            for (int j = 0; j < 2 && (i * 2) + j < ROOM_SIZE; j++) {
+                if(codes[j] >= CELLS.length())
+                    throw new IllegalArgumentException("Error: Unknown cell code " + codes[j] + " in the compiled rooms");
+
+                cells[(i * 2) + j] = (byte) CELLS.charAt(codes[j]);
+            }
+        }
+
+        return cells;
+    }
+
+    /**
+     * Turns the text of a template into a grid of cells
+     * @param text The text of the template, a line for each row
+     * @param name The name of the template for errors
+     * @return The cells, row by row
+     */
+    static byte[] parse(String text, String name) {
+        String[] rows = text.replace("\r", "").split("\n");
+        if(rows.length != TerrainGenerator.ROOM_HEIGHT)
+            throw new IllegalArgumentException("Error: Room " + name + " has " + rows.length + " rows, expected "
+                    + TerrainGenerator.ROOM_HEIGHT);
+
+        byte[] cells = new byte[ROOM_SIZE];
+        for (int row = 0; row < rows.length; row++) {
+            if(rows[row].length() != TerrainGenerator.ROOM_WIDTH)
+                throw new IllegalArgumentException("Error: Room " + name + " row " + row + " has " + rows[row].length()
+                        + " cells, expected " + TerrainGenerator.ROOM_WIDTH);
+
+            for (int col = 0; col < TerrainGenerator.ROOM_WIDTH; col++) {
+                char cell = rows[row].charAt(col);
+                if(CELLS.indexOf(cell) < 0)
+                    throw new IllegalArgumentException("Error: Room " + name + " has an unknown cell '" + cell + "' at "
+                            + col + ", " + row);
+
+                cells[(row * TerrainGenerator.ROOM_WIDTH) + col] = (byte) cell;
+            }
+        }
+
+        return cells;
+    }
+
+    /**
+     * Gets how many templates there are for a type of room
+     * @param type The type of room
+     * @return The number of templates
+     */
+    int getCount(RoomType type) { return rooms[type.ordinal()].length; }
+
+    /**
+     * Gets the cells of a template, which must not be changed
+     * @param type The type of room
+     * @param index The number of the template
+     * @return The cells, row by row
+     */
+    byte[] get(RoomType type, int index) { return rooms[type.ordinal()][index]; }
+
+    /**
+     * Gets the total number of templates
+     * @return The number of templates of every type
+     */
+    public int size() {
+        int size = 0;
+        for (byte[][] type : rooms) size += type.length;
+        return size;
+    }
+}
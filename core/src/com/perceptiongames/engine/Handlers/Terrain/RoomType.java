@@ -0,0 +1,29 @@
+package com.perceptiongames.engine.Handlers.Terrain;
+
+/**
+ * The shapes of room the generator lays out, each with a folder of templates under assets/Rooms/
+ */
+enum RoomType {
+
+    None(0, "None"),
+    Standard(1, "Linear"),
+    Down(2, "T"),
+    Up(3, "UpsideDown T"),
+    Cross(4, "Cross");
+
+    public final int VALUE;
+    public final String PATH;
+    RoomType(int v, String path) {
+        VALUE = v;
+        PATH = path;
+    }
+
+    public static RoomType getEnum(int value) {
+        for(RoomType t : RoomType.values()) {
+            if(t.VALUE == value)
+                return t;
+        }
+
+        return null;
+    }
+}
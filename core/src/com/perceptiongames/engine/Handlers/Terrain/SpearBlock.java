@@ -3,10 +3,11 @@ package com.perceptiongames.engine.Handlers.Terrain;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool;
 import com.perceptiongames.engine.Entities.AABB;
 import com.perceptiongames.engine.Handlers.Animation;
 
-public class SpearBlock extends Tile {
+public class SpearBlock extends Tile implements Pool.Poolable {
 
     private Animation animation;
 
@@ -14,21 +15,44 @@ public class SpearBlock extends Tile {
 
     public SpearBlock(Animation a, AABB aabb, boolean facingLeft) {
         super(aabb);
+
+        animation = a;
+        init(aabb.getCentre().x, aabb.getCentre().y, facingLeft);
+    }
+
+    /**
+     * Places the block, used both when it is created and when it is taken from a pool
+     * @param centreX The x coordinate of the centre of the block
+     * @param centreY The y coordinate of the centre of the block
+     * @param facingLeft Whether the spear shoots out to the left
+     */
+    public void init(float centreX, float centreY, boolean facingLeft) {
         active = false;
         this.facingLeft = facingLeft;
-        a.setFlipX(facingLeft);
+        animation.setFlipX(facingLeft);
 
-        animation = a;
+        aabb.setCentre(centreX, centreY);
         if(facingLeft)
-            animation.setPosition(new Vector2(aabb.getPosition().x - aabb.getWidth(), aabb.getPosition().y));
+            animation.setPosition(aabb.getMinX() - aabb.getWidth(), aabb.getMinY());
         else
-            animation.setPosition(aabb.getPosition());
+            animation.setPosition(aabb.getMinX(), aabb.getMinY());
         animation.setMaxPlays(1);
     }
 
+    /**
+     * Retracts the spear, called when the block is freed back to its pool
+     */
+    @Override
+    public void reset() {
+        setActive(false);
+        animation.rewind();
+        aabb.setHalfSize(Tile.SIZE / 2, Tile.SIZE / 2);
+        aabb.setCollisionFlags(AABB.NONE_BITS);
+    }
+
     @Override
     public void render(SpriteBatch batch) {
-        animation.render(batch, animation.getPosition());
+        animation.render(batch, animation.getX(), animation.getY());
     }
 
     public void update(float dt) {
@@ -38,27 +62,27 @@ public class SpearBlock extends Tile {
 
             if (animation.getCurrentFrame() < 28) {
                 aabb.setHalfSize(40 + (1.6f * animation.getCurrentFrame()), aabb.getHalfSize().y);
-                if(facingLeft) aabb.setCentre(new Vector2(animation.getPosition().x + 120
-                        - (1.6f * animation.getCurrentFrame()), aabb.getCentre().y));
+                if(facingLeft) aabb.setCentre(animation.getX() + 120
+                        - (1.6f * animation.getCurrentFrame()), aabb.getCentre().y);
             } else {
 
                 aabb.setHalfSize(40 + (1.6f * (animation.getTotalFrames() - animation.getCurrentFrame())), aabb.getHalfSize().y);
-                if(facingLeft) aabb.setCentre(new Vector2(animation.getPosition().x + 120
-                        - (1.6f * (animation.getTotalFrames() - animation.getCurrentFrame())), aabb.getCentre().y));
+                if(facingLeft) aabb.setCentre(animation.getX() + 120
+                        - (1.6f * (animation.getTotalFrames() - animation.getCurrentFrame())), aabb.getCentre().y);
             }
             if(!facingLeft) {
-                aabb.setPosition(animation.getPosition());
+                aabb.setPosition(animation.getX(), animation.getY());
             }
 
             if(animation.isFinished()) {
-                active = false;
+                setActive(false);
                 animation.reset();
                 animation.setMaxPlays(1);
                 aabb.setHalfSize(40, 40);
                 if(!facingLeft)
-                    aabb.setPosition(animation.getPosition());
+                    aabb.setPosition(animation.getX(), animation.getY());
                 else
-                    aabb.setPosition(animation.getPosition().x + 80, animation.getPosition().y);
+                    aabb.setPosition(animation.getX() + 80, animation.getY());
             }
         }
     }
@@ -0,0 +1,213 @@
+package com.perceptiongames.engine.Handlers.Terrain;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * The static cells of a tile map baked into vertex buffers, one cache per chunk <br>
+ *     Chunks are only rebuilt when a cell inside them changes, so a frame with no changes just draws the buffers <br>
+ *     Only the chunks in view are drawn <br>
+ *     Cells are added grouped by region so each chunk switches texture as few times as possible, and not at all
+ *     when the regions share an atlas page
+ */
+public class TerrainCache implements Disposable {
+
+    private TileMap terrain;
+    private final TextureRegion[] palette;
+
+    private final int chunkColumns;
+    private final int chunkRows;
+    private final int chunksX;
+    private final int chunksY;
+
+    private final SpriteCache cache;
+
+    // The cache id for each chunk and how many cells it was built with, a chunk can be rebuilt with at most that many
+    private final int[] ids;
+    private final int[] capacities;
+    private final boolean[] dirty;
+
+    private boolean rebuildAll;
+
+    /**
+     * Creates the cache and registers it with the tile map so it hears about changes
+     * @param terrain The tile map to cache
+     * @param palette The regions the cell texture indices refer to
+     * @param chunkColumns The width of a chunk in cells
+     * @param chunkRows The height of a chunk in cells
+     */
+    public TerrainCache(TileMap terrain, TextureRegion[] palette, int chunkColumns, int chunkRows) {
+        this.terrain = terrain;
+
+        // Flipped copies for the y-down camera
+        this.palette = new TextureRegion[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            this.palette[i] = new TextureRegion(palette[i]);
+            this.palette[i].flip(false, true);
+        }
+        this.chunkColumns = chunkColumns;
+        this.chunkRows = chunkRows;
+
+        chunksX = (terrain.getColumns() + chunkColumns - 1) / chunkColumns;
+        chunksY = (terrain.getRows() + chunkRows - 1) / chunkRows;
+
+        cache = new SpriteCache(terrain.getSize(), false);
+
+        ids = new int[chunksX * chunksY];
+        capacities = new int[ids.length];
+        dirty = new boolean[ids.length];
+
+        terrain.setCache(this);
+        invalidateAll();
+    }
+
+    /**
+     * Switches to caching another tile map of the same size, the chunks are rebuilt on the next draw
+     * @param terrain The tile map to cache
+     */
+    public void setTerrain(TileMap terrain) {
+        if(terrain.getColumns() != this.terrain.getColumns() || terrain.getRows() != this.terrain.getRows())
+            throw new IllegalArgumentException("Error: Can't cache a " + terrain.getColumns() + "x" + terrain.getRows()
+                    + " map in place of a " + this.terrain.getColumns() + "x" + this.terrain.getRows() + " map");
+
+        this.terrain.setCache(null);
+        this.terrain = terrain;
+        terrain.setCache(this);
+        invalidateAll();
+    }
+
+    /**
+     * Marks the chunk holding a cell as needing a rebuild
+     * @param cell The cell which changed
+     */
+    void invalidate(int cell) {
+        dirty[getChunk(terrain.getColumn(cell) / chunkColumns, terrain.getRow(cell) / chunkRows)] = true;
+    }
+
+    /**
+     * Marks every chunk as needing a rebuild, used when the whole map is replaced
+     */
+    void invalidateAll() { rebuildAll = true; }
+
+    /**
+     * Rebuilds any chunks which have changed since the last draw
+     */
+    public void rebuild() {
+        if(rebuildAll) {
+            // Starting again frees all of the space, so chunks can grow or shrink
+            cache.clear();
+            for (int chunk = 0; chunk < ids.length; chunk++) {
+                cache.beginCache();
+                capacities[chunk] = addChunk(chunk);
+                ids[chunk] = cache.endCache();
+                dirty[chunk] = false;
+            }
+
+            rebuildAll = false;
+            return;
+        }
+
+        for (int chunk = 0; chunk < ids.length; chunk++) {
+            if(!dirty[chunk]) continue;
+
+            // A redefined cache can't hold more than it was made with
+            if(countCells(chunk) > capacities[chunk]) {
+                rebuildAll = true;
+                rebuild();
+                return;
+            }
+
+            cache.beginCache(ids[chunk]);
+            addChunk(chunk);
+            cache.endCache();
+            dirty[chunk] = false;
+        }
+    }
+
+    /**
+     * Draws the chunks overlapping a range of cells, rebuilding any which have changed first
+     * @param projection The projection matrix to draw with
+     * @param minColumn The first visible column
+     * @param minRow The first visible row
+     * @param maxColumn The last visible column
+     * @param maxRow The last visible row
+     */
+    public void render(Matrix4 projection, int minColumn, int minRow, int maxColumn, int maxRow) {
+        rebuild();
+
+        // Textures larger than a cell hang over the cells right of and below them
+        int minChunkX = Math.max(minColumn - 1, 0) / chunkColumns;
+        int minChunkY = Math.max(minRow - 1, 0) / chunkRows;
+        int maxChunkX = Math.min(maxColumn, terrain.getColumns() - 1) / chunkColumns;
+        int maxChunkY = Math.min(maxRow, terrain.getRows() - 1) / chunkRows;
+        if(maxChunkX < minChunkX || maxChunkY < minChunkY) return;
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        cache.setProjectionMatrix(projection);
+        cache.begin();
+        for (int i = minChunkX; i <= maxChunkX; i++) {
+            for (int j = minChunkY; j <= maxChunkY; j++) {
+                cache.draw(ids[getChunk(i, j)]);
+            }
+        }
+        cache.end();
+
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    private int addChunk(int chunk) {
+        int minColumn = (chunk / chunksY) * chunkColumns;
+        int minRow = (chunk % chunksY) * chunkRows;
+        int maxColumn = Math.min(minColumn + chunkColumns, terrain.getColumns());
+        int maxRow = Math.min(minRow + chunkRows, terrain.getRows());
+
+        int count = 0;
+        for (int texture = 0; texture < palette.length; texture++) {
+            TextureRegion region = palette[texture];
+            for (int i = minColumn; i < maxColumn; i++) {
+                for (int j = minRow; j < maxRow; j++) {
+                    int cell = terrain.getCell(i, j);
+                    if(terrain.getTexture(cell) != texture) continue;
+
+                    cache.add(region, terrain.getMinX(cell), terrain.getMinY(cell));
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private int countCells(int chunk) {
+        int minColumn = (chunk / chunksY) * chunkColumns;
+        int minRow = (chunk % chunksY) * chunkRows;
+        int maxColumn = Math.min(minColumn + chunkColumns, terrain.getColumns());
+        int maxRow = Math.min(minRow + chunkRows, terrain.getRows());
+
+        int count = 0;
+        for (int i = minColumn; i < maxColumn; i++) {
+            for (int j = minRow; j < maxRow; j++) {
+                if(terrain.getTexture(terrain.getCell(i, j)) >= 0) count++;
+            }
+        }
+
+        return count;
+    }
+
+    private int getChunk(int chunkX, int chunkY) { return (chunkX * chunksY) + chunkY; }
+
+    public int getChunksX() { return chunksX; }
+    public int getChunksY() { return chunksY; }
+
+    @Override
+    public void dispose() {
+        terrain.setCache(null);
+        cache.dispose();
+    }
+}
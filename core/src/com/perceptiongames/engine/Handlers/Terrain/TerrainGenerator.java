@@ -1,60 +1,72 @@
 package com.perceptiongames.engine.Handlers.Terrain;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 import com.perceptiongames.engine.Entities.AABB;
 import com.perceptiongames.engine.Entities.Enemy;
 import com.perceptiongames.engine.Handlers.Animation;
+import com.perceptiongames.engine.Handlers.AnimationDef;
 import com.perceptiongames.engine.Handlers.Content;
 
 import java.util.*;
 
-public class TerrainGenerator {
+/**
+ * Builds the levels of a run from the room templates <br>
+ *     The next level is built on a worker thread while the current one is played, into the second of two tile maps,
+ *     so moving on to it is just a swap <br>
+ *     Dynamic tiles and enemies come from pools, and go back to them when the map they were in is rebuilt, so once
+ *     the pools have filled up building a level allocates nothing
+ */
+public class TerrainGenerator implements Disposable {
 
     public boolean isFinalLevel() {
         return finalLevel;
     }
 
+    /**
+     * @param finalLevel Whether levels end with the amulet rather than a door, only levels prepared after this is
+     *                   set are affected
+     */
     public void setFinalLevel(boolean finalLevel) {
         this.finalLevel = finalLevel;
     }
 
-    private enum RoomType {
-
-        None(0, "None"),
-        Standard(1, "Linear"),
-        Down(2, "T"),
-        Up(3, "UpsideDown T"),
-        Cross(4, "Cross");
-
-        public final int VALUE;
-        public final String PATH;
-        RoomType(int v, String path) {
-            VALUE = v;
-            PATH = path;
-        }
-
-        public static RoomType getEnum(int value) {
-            for(RoomType t : RoomType.values()) {
-                if(t.VALUE == value)
-                    return t;
-            }
-
-            return null;
-        }
-    }
-
     public static final int ROOM_WIDTH = 10;
     public static final int ROOM_HEIGHT = 8;
     public static final int GRID_SIZE = 4;
 
-    private Tile[][] terrain;
-    private Texture[] textures;
+    // The level being played uses one map and the next level is built into the other
+    private final Level[] buffers;
+    private Level current;
 
-    private List<Enemy> enemies;
+    private final AsyncExecutor executor;
+    private AsyncResult<Level> next;
 
+    // The state of the level being built
+    private TileMap terrain;
+    private List<Enemy> enemies;
     private Vector2 startPosition;
+    private boolean lastLevel;
+    private final RoomType[][] rooms;
+
+    // Only used by whichever thread is building a level
+    private final Pool<FallingBlock> fallingBlocks;
+    private final Pool<SpearBlock> spearBlocks;
+    private final Pool<Enemy>[] enemyPools;
+
+    private TextureRegion[] textures;
+    private final RoomTemplates templates;
+
+    // Frames shared by every enemy and spear block, indexed by enemy type
+    private final AnimationDef[] enemyIdle;
+    private final AnimationDef[] enemyMove;
+    private final AnimationDef[] enemyAttack;
+    private final AnimationDef spear;
 
     private boolean startRoom;
 
@@ -63,46 +75,134 @@ public class TerrainGenerator {
     private int endRoomX;
     private int endRoomY;
 
-    private static final Random random = new Random();
+    // The level seeds come from the run seed, and everything in a level comes from its own seed
+    private final Random seeds;
+    private final Random random;
 
     private boolean left, down;
 
-    private Content content;
     private boolean finalLevel=false;
 
-    public TerrainGenerator(Content content) {
-        textures = new Texture[7];
-        textures[0] = content.getTexture("BrokenWall1");
-        textures[1] = content.getTexture("BrokenWall");
-        textures[2] = content.getTexture("BrokenWall2");
-        textures[3] = content.getTexture("Spikes");
-        textures[4] = content.getTexture("SpearBlock");
-        textures[5] = content.getTexture("Ladder");
+    /**
+     * Creates the generator and the first level
+     * @param content The content to get the textures from
+     * @param seed The seed for the run, the same seed always gives the same levels
+     */
+    public TerrainGenerator(Content content, long seed) {
+        templates = content.getRooms();
+
+        textures = new TextureRegion[8];
+        textures[0] = content.getRegion("BrokenWall1");
+        textures[1] = content.getRegion("BrokenWall");
+        textures[2] = content.getRegion("BrokenWall2");
+        textures[3] = content.getRegion("Spikes");
+        textures[4] = content.getRegion("SpearBlock");
+        textures[5] = content.getRegion("Ladder");
+        textures[6] = content.getRegion("EndDoor");
+        textures[7] = content.getRegion("Amulet");
+
+        enemyIdle = new AnimationDef[3];
+        enemyMove = new AnimationDef[3];
+        enemyAttack = new AnimationDef[3];
+        for (int i = 0; i < 3; i++) {
+            enemyIdle[i] = new AnimationDef(content.getRegion("Enemy" + i), 1, 1, 10f);
+            enemyMove[i] = new AnimationDef(content.getRegion("EnemyMove" + i), 1, 6, 0.5f);
+            enemyAttack[i] = new AnimationDef(content.getRegion("EnemyAttack" + i), 1, i == 2 ? 6 : 7, 0.08f);
+        }
 
-        this.content = content;
+        spear = new AnimationDef(textures[4], 1, 50, 0.028f);
 
-        terrain = new Tile[GRID_SIZE * ROOM_WIDTH][GRID_SIZE * ROOM_HEIGHT];
+        seeds = new Random(seed);
+        random = new Random();
+
+        buffers = new Level[2];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new Level(new TileMap(GRID_SIZE * ROOM_WIDTH, GRID_SIZE * ROOM_HEIGHT));
+        }
+        rooms = new RoomType[GRID_SIZE][GRID_SIZE];
+
+        final float halfSize = Tile.SIZE / 2;
+        fallingBlocks = new Pool<FallingBlock>() {
+            @Override
+            protected FallingBlock newObject() {
+                return new FallingBlock(textures[0], new AABB(0, 0, halfSize, halfSize));
+            }
+        };
+        spearBlocks = new Pool<SpearBlock>() {
+            @Override
+            protected SpearBlock newObject() {
+                return new SpearBlock(new Animation(spear), new AABB(0, 0, halfSize, halfSize), false);
+            }
+        };
+
+        enemyPools = new EnemyPool[enemyIdle.length];
+        for (int i = 0; i < enemyPools.length; i++) {
+            enemyPools[i] = new EnemyPool(i);
+        }
+
+        executor = new AsyncExecutor(1);
 
-        enemies = new ArrayList<Enemy>();
         finalLevel=true;
-        generate();
+        current = build(seeds.nextLong(), getBackBuffer(), finalLevel);
     }
 
+    /**
+     * Starts building the next level of the run on the worker thread, into the map the current level isn't using <br>
+     *     Does nothing if the next level is already being built
+     */
+    public void prepareNext() {
+        if(next != null) return;
+
+        final long levelSeed = seeds.nextLong();
+        final Level target = getBackBuffer();
+        final boolean last = finalLevel;
+        next = executor.submit(new AsyncTask<Level>() {
+            @Override
+            public Level call() { return build(levelSeed, target, last); }
+        });
+    }
 
     /**
-     * Creates a new pseudo-generated world
+     * Moves on to the next level of the run, waiting for it if it hasn't finished being built <br>
+     *     The map of the old level becomes the one the level after is built into, so it must no longer be in use when
+     *     prepareNext is called
+     * @return The new current level
      */
-    public void generate() {
+    public Level nextLevel() {
+        prepareNext();
 
-        enemies.clear();
+        current = next.get();
+        next = null;
+        return current;
+    }
 
-        for (int i = 0; i < (GRID_SIZE * ROOM_WIDTH); i++) {
-            for (int j = 0; j < (GRID_SIZE * ROOM_HEIGHT); j++) {
-                terrain[i][j] = null;
-            }
+    /**
+     * Creates a new pseudo-generated world straight away, replacing the current level and any being prepared
+     * @param seed The seed for the level
+     */
+    public void generate(long seed) {
+        if(next != null) {
+            next.get();
+            next = null;
         }
 
-        RoomType[][] rooms = new RoomType[GRID_SIZE][GRID_SIZE];
+        current = build(seed, getBackBuffer(), finalLevel);
+    }
+
+    private Level getBackBuffer() {
+        return current != buffers[0] ? buffers[0] : buffers[1];
+    }
+
+    private Level build(long seed, Level target, boolean last) {
+        release(target);
+        random.setSeed(seed);
+
+        terrain = target.getTerrain();
+        enemies = target.getEnemies();
+        startPosition = target.getStartPosition();
+        lastLevel = last;
+        target.setSeed(seed);
+
         for(int i = 0; i < GRID_SIZE; i++) {
             for (int j = 0; j < GRID_SIZE; j++) {
                 rooms[i][j] = RoomType.None;
@@ -112,7 +212,6 @@ public class TerrainGenerator {
         left = down = false;
         int x = random.nextInt(GRID_SIZE), y = 0;
 
-        startPosition = new Vector2();
         startPosition.y = 4 * Tile.SIZE;
         startPosition.x = ((x + 1) * ROOM_WIDTH * Tile.SIZE) + 5 * Tile.SIZE;
 
@@ -175,11 +274,29 @@ public class TerrainGenerator {
 
         for (int i = 0; i < GRID_SIZE; i++) {
             for (int j = 0; j < GRID_SIZE; j++) {
-                System.out.print(rooms[i][j].VALUE + "  ");
                 generateRoom(i, j, rooms[i][j]);
             }
-             System.out.println("");
         }
+
+        return target;
+    }
+
+    /**
+     * Frees the dynamic tiles and enemies of an old level back to their pools, and empties its map
+     * @param level The level to empty, which must no longer be played
+     */
+    private void release(Level level) {
+        for (Tile tile : level.getTerrain().getDynamicTiles()) {
+            if(tile instanceof FallingBlock) fallingBlocks.free((FallingBlock) tile);
+            else if(tile instanceof SpearBlock) spearBlocks.free((SpearBlock) tile);
+        }
+
+        for (Enemy enemy : level.getEnemies()) {
+            enemyPools[enemy.getType()].free(enemy);
+        }
+
+        level.getEnemies().clear();
+        level.getTerrain().clear();
     }
 
     private void getDir() {
@@ -201,29 +318,15 @@ public class TerrainGenerator {
         int xIndex = (xStart * ROOM_WIDTH);
         int yIndex = (yStart * ROOM_HEIGHT);
 
-        float halfSize = Tile.SIZE / 2;
-
-        int room;
-        if (type == RoomType.None) {
-            room = 0;
-        }
-        else if(type == RoomType.Cross) {
-            room = random.nextInt(10);
-        }
-        else if(type == RoomType.Standard)
-        {
-            room=random.nextInt(10);
-        }
-        else {
-            room = random.nextInt(5);
-        }
+        int room = type == RoomType.None ? 0 : random.nextInt(templates.getCount(type));
+        byte[] cells = templates.get(type, room);
 
-        String file = Gdx.files.internal("Rooms/" + type.PATH + "/" + room).readString();
-        String[] rows = file.split("\n");
+        for (int row = 0; row < ROOM_HEIGHT; row++) {
+            for (int col = 0; col < ROOM_WIDTH; col++) {
+                char tile = (char) cells[(row * ROOM_WIDTH) + col];
+                int column = xIndex + col;
+                int cellRow = yIndex + row;
 
-        int row = 0, col = 0;
-        for (String r : rows) {
-            for (char tile : r.toCharArray()) {
                 int texture = -1;
                 switch (tile) {
                     case '0':
@@ -242,60 +345,39 @@ public class TerrainGenerator {
                             texture = -1;
                         break;
                     case '4':
-                        terrain[xIndex + col][yIndex + row] = new FallingBlock(textures[random.nextInt(3)],
-                                new AABB(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row), halfSize, halfSize));
+                        FallingBlock block = fallingBlocks.obtain();
+                        block.init(textures[random.nextInt(3)], xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row));
+                        addDynamic(column, cellRow, block);
                         break;
                     case 'P':
-                        terrain[xIndex + col][yIndex + row] = new Sensor(yIndex + row, xIndex + col,
-                                new AABB(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row), halfSize, halfSize));
-
-                        ((Sensor)terrain[xIndex + col][yIndex + row]).setData("Player");
+                        terrain.set(column, cellRow, TileMap.SENSOR_PLAYER, -1, 0, TileMap.SENSOR_FLAG | TileMap.TRIGGER_FLAG);
                         break;
                     case 'E':
-                        terrain[xIndex + col][yIndex + row] = new Sensor(yIndex + row, xIndex + col,
-                                new AABB(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row), halfSize, halfSize));
-
-                        ((Sensor)terrain[xIndex + col][yIndex + row]).setData("EnemyLeft");
+                        terrain.set(column, cellRow, TileMap.SENSOR_ENEMY_LEFT, -1, 0, TileMap.SENSOR_FLAG | TileMap.TRIGGER_FLAG);
                         break;
                     case 'R':
-                        terrain[xIndex + col][yIndex + row] = new Sensor(yIndex + row, xIndex + col,
-                                new AABB(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row), halfSize, halfSize));
-
-                        ((Sensor)terrain[xIndex + col][yIndex + row]).setData("EnemyRight");
+                        terrain.set(column, cellRow, TileMap.SENSOR_ENEMY_RIGHT, -1, 0, TileMap.SENSOR_FLAG | TileMap.TRIGGER_FLAG);
                         break;
                     case '6':
-                        terrain[xIndex + col][yIndex + row] = new SpearBlock(new Animation(textures[4], 1, 50, 0.028f),
-                                new AABB(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row), halfSize, halfSize), true);
-
-                        break;
                     case '7':
-                        terrain[xIndex + col][yIndex + row] = new SpearBlock(new Animation(textures[4], 1, 50, 0.028f),
-                                new AABB(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row), halfSize, halfSize), false);
+                        SpearBlock spearBlock = spearBlocks.obtain();
+                        spearBlock.init(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row), tile == '6');
+                        addDynamic(column, cellRow, spearBlock);
                         break;
                     case 'L':
                         texture = 5;
                         break;
                     case 'S':
-                        generateEnemy(new Vector2(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row)));
+                        generateEnemy(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row));
                         break;
                     case 'T':
                         if(xStart == endRoomX && yStart == endRoomY) {
-                            if(!finalLevel) {
-                                terrain[xIndex + col][yIndex + row] = new StandardTile(content.getTexture("EndDoor"),
-                                        new AABB(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row), halfSize, halfSize),
-                                        false);
-
-                                terrain[xIndex + col][yIndex + row].getAABB().setSensor(true);
-                                terrain[xIndex + col][yIndex + row].setDamage(-4);
+                            if(!lastLevel) {
+                                terrain.set(column, cellRow, TileMap.EXIT, 6, TileMap.DAMAGE_END_LEVEL, TileMap.SENSOR_FLAG);
                             }
                             else
                             {
-                                terrain[xIndex + col][yIndex + row] = new StandardTile(content.getTexture("Amulet"),
-                                        new AABB(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row), halfSize, halfSize),
-                                        false);
-
-                                terrain[xIndex + col][yIndex + row].getAABB().setSensor(true);
-                                terrain[xIndex + col][yIndex + row].setDamage(-100);
+                                terrain.set(column, cellRow, TileMap.EXIT, 7, TileMap.DAMAGE_FINISH, TileMap.SENSOR_FLAG);
                             }
                         }
                         else {
@@ -311,57 +393,65 @@ public class TerrainGenerator {
                         break;
                 }
 
-                if (texture > -1) {
-                    terrain[xIndex + col][yIndex + row] = new StandardTile(textures[texture],
-                            new AABB(xOffset + (Tile.SIZE * col), yOffset + (Tile.SIZE * row), halfSize, halfSize),
-                            texture == 5);
-
-                    if(texture == 5) {
-                        terrain[xIndex + col][yIndex + row].getAABB().setSensor(true);
-                    }
-                    if(texture == 3) terrain[xIndex + col][yIndex + row].setDamage(1);
+                if (texture == 5) {
+                    terrain.set(column, cellRow, TileMap.LADDER, texture, 0, TileMap.SENSOR_FLAG);
                 }
-
-
-                if(terrain[xIndex + col][yIndex + row] != null) {
-                    terrain[xIndex + col][yIndex + row].setRow(yIndex + row);
-                    terrain[xIndex + col][yIndex + row].setColumn(xIndex + col);
+                else if (texture > -1) {
+                    terrain.set(column, cellRow, TileMap.WALL, texture, texture == 3 ? 1 : 0, 0);
                 }
-
-                col++;
             }
-            row++;
-            col = 0;
         }
     }
 
-    private void generateEnemy(Vector2 pos) {
+    private void addDynamic(int column, int row, Tile tile) {
+        tile.setColumn(column);
+        tile.setRow(row);
+        terrain.addDynamic(tile);
+    }
+
+    private void generateEnemy(float x, float y) {
 
         int enemyType = random.nextInt(3);
 
-        Animation a = new Animation(content.getTexture("Enemy" + enemyType), 1, 1, 10f);
-        Enemy bad = new Enemy(a,"idle", new AABB(new Vector2(pos.x + 31, pos.y + 31),new Vector2(31,31)));
-        if(enemyType == 2) {
-            bad.addAnimation("attack", new Animation(content.getTexture("EnemyAttack" + enemyType), 1, 6, 0.08f));
-        }
-        else {
-            bad.addAnimation("attack", new Animation(content.getTexture("EnemyAttack" + enemyType), 1, 7, 0.08f));
-        }
+        Enemy bad = enemyPools[enemyType].obtain();
+        bad.spawn(x, y, enemyType, random.nextLong());
+        enemies.add(bad);
+    }
 
-        Animation c = new Animation(content.getTexture("EnemyMove" + enemyType), 1, 6, 0.5f);
-        bad.addAnimation("Right",c);
+    /**
+     * Makes enemies of one type, with all of their animations
+     */
+    private class EnemyPool extends Pool<Enemy> {
 
-        Animation b = new Animation(content.getTexture("EnemyMove" + enemyType), 1, 6, 0.5f);
-        b.setFlipX(true);
+        private final int type;
 
-        bad.addAnimation("Left",b);
-        bad.setWeapon(new AABB(100, 100, 7f, 7f));
-        enemies.add(bad);
-    }
+        EnemyPool(int type) { this.type = type; }
+
+        @Override
+        protected Enemy newObject() {
+            Animation a = new Animation(enemyIdle[type]);
+            Enemy bad = new Enemy(a,"idle", new AABB(new Vector2(31, 31),new Vector2(31,31)), new Random());
+            bad.addAnimation(Enemy.ATTACK, "attack", new Animation(enemyAttack[type]));
 
-    public Tile[][] getTerrain() {
-        return terrain;
+            Animation c = new Animation(enemyMove[type]);
+            bad.addAnimation(Enemy.RIGHT, "Right", c);
+
+            Animation b = new Animation(enemyMove[type]);
+            b.setFlipX(true);
+
+            bad.addAnimation(Enemy.LEFT, "Left", b);
+            bad.setWeapon(new AABB(100, 100, 7f, 7f));
+            return bad;
+        }
     }
-    public Vector2 getStartPosition() { return startPosition; }
-    public List<Enemy> getEnemies() { return enemies; }
+
+    public TextureRegion[] getTextures() { return textures; }
+    public Level getLevel() { return current; }
+    public TileMap getTerrain() { return current.getTerrain(); }
+    public Vector2 getStartPosition() { return current.getStartPosition(); }
+    public List<Enemy> getEnemies() { return current.getEnemies(); }
+    public long getSeed() { return current.getSeed(); }
+
+    @Override
+    public void dispose() { executor.dispose(); }
 }
@@ -18,15 +18,21 @@ public abstract class Tile {
     protected int row;
     protected int column;
 
+    // The set this tile joins while active, and where it sits in it
+    private ActiveTiles registry;
+    int registryIndex;
+
     public Tile(AABB aabb) {
         this.aabb = aabb;
 
         damage = 0;
         active = false;
+        registryIndex = -1;
     }
 
     public void update(float dt) {}
     public void render(SpriteBatch batch) {}
+    public void render(SpriteBatch batch, float alpha) { render(batch); }
 
     public AABB getAABB() { return aabb; }
     public int getDamage() { return damage; }
@@ -37,8 +43,15 @@ public abstract class Tile {
     public boolean isActive() { return active; }
 
     public void setDamage(int dmg) { damage = dmg; }
-    public void setActive(boolean a) { active = a; }
+    public void setActive(boolean a) {
+        active = a;
+        if(registry == null) return;
+
+        if(active) registry.enable(this);
+        else registry.disable(this);
+    }
 
     public void setRow(int row) { this.row = row; }
     public void setColumn(int col) { column = col; }
+    public void setRegistry(ActiveTiles registry) { this.registry = registry; }
 }
@@ -0,0 +1,112 @@
+package com.perceptiongames.engine.Handlers.Terrain;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.perceptiongames.engine.Entities.AABB;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A uniform grid broadphase over the terrain, keyed on Tile.SIZE <br>
+ *     Queries only visit the cells an AABB covers rather than the whole level
+ */
+public class TileGrid {
+
+    // Moving tiles can drift away from the cell they were generated in, so dynamic queries are widened to still find them
+    // SpearBlocks extend up to two cells sideways and FallingBlocks drop up to three cells
+    private static final int REACH_X = 2;
+    private static final int REACH_UP = 3;
+
+    private TileMap terrain;
+
+    private final IntArray cells;
+    private final List<Tile> tiles;
+
+    /**
+     * Creates a broadphase grid over the given terrain
+     * @param terrain The terrain to query
+     */
+    public TileGrid(TileMap terrain) {
+        cells = new IntArray();
+        tiles = new ArrayList<Tile>();
+        this.terrain = terrain;
+    }
+
+    /**
+     * Finds every non-empty static cell covered by the given AABB
+     * @param aabb The AABB to query with
+     * @return The covered cells, in column then row order <br>
+     *     The array is reused between queries so must not be held on to
+     */
+    public IntArray query(AABB aabb) {
+        return query(aabb.getMinX(), aabb.getMinY(), aabb.getMaxX(), aabb.getMaxY());
+    }
+
+    /**
+     * Finds every non-empty static cell covered by the given area
+     * @param minX The left edge of the area
+     * @param minY The top edge of the area
+     * @param maxX The right edge of the area
+     * @param maxY The bottom edge of the area
+     * @return The covered cells, in column then row order <br>
+     *     The array is reused between queries so must not be held on to
+     */
+    public IntArray query(float minX, float minY, float maxX, float maxY) {
+        cells.clear();
+
+        int maxCol = getColumn(maxX);
+        int maxRow = getRow(maxY);
+        for (int i = getColumn(minX); i <= maxCol; i++) {
+            for (int j = getRow(minY); j <= maxRow; j++) {
+                int cell = terrain.getCell(i, j);
+                if(!terrain.isEmpty(cell)) cells.add(cell);
+            }
+        }
+
+        return cells;
+    }
+
+    /**
+     * Finds every dynamic tile which could be touching the given AABB
+     * @param aabb The AABB to query with
+     * @return The dynamic tiles near the AABB <br>
+     *     The list is reused between queries so must not be held on to
+     */
+    public List<Tile> queryDynamic(AABB aabb) {
+        tiles.clear();
+
+        int minCol = Math.max(getColumn(aabb.getMinX()) - REACH_X, 0);
+        int maxCol = Math.min(getColumn(aabb.getMaxX()) + REACH_X, terrain.getColumns() - 1);
+        int minRow = Math.max(getRow(aabb.getMinY()) - REACH_UP, 0);
+        int maxRow = getRow(aabb.getMaxY());
+
+        for (int i = minCol; i <= maxCol; i++) {
+            for (int j = minRow; j <= maxRow; j++) {
+                Tile tile = terrain.getDynamic(terrain.getCell(i, j));
+                if(tile != null) tiles.add(tile);
+            }
+        }
+
+        return tiles;
+    }
+
+    /**
+     * Gets the column containing the given x coordinate, clamped to the grid
+     * @param x The x coordinate in world units
+     * @return The column index
+     */
+    public int getColumn(float x) {
+        return Math.max(Math.min((int) Math.floor(x / Tile.SIZE), terrain.getColumns() - 1), 0);
+    }
+
+    /**
+     * Gets the row containing the given y coordinate, clamped to the grid
+     * @param y The y coordinate in world units
+     * @return The row index
+     */
+    public int getRow(float y) {
+        return Math.max(Math.min((int) Math.floor(y / Tile.SIZE), terrain.getRows() - 1), 0);
+    }
+
+    public void setTerrain(TileMap terrain) { this.terrain = terrain; }
+}
@@ -0,0 +1,150 @@
+package com.perceptiongames.engine.Handlers.Terrain;
+
+import com.badlogic.gdx.utils.IntMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compact store for the static terrain <br>
+ *     Each cell is a handful of bytes in parallel arrays, with its bounds derived from its row and column <br>
+ *     Only the dynamic blocks (SpearBlock, FallingBlock) are kept as objects, and those which are awake
+ *     are tracked in an ActiveTiles set so only they get updated <br>
+ *     The static cells are drawn from a TerrainCache, which is told whenever a cell changes
+ */
+public class TileMap {
+
+    // Cell types
+    public static final byte EMPTY = 0;
+    public static final byte WALL = 1;
+    public static final byte LADDER = 2;
+    public static final byte EXIT = 3;
+    public static final byte SENSOR_PLAYER = 4;
+    public static final byte SENSOR_ENEMY_LEFT = 5;
+    public static final byte SENSOR_ENEMY_RIGHT = 6;
+
+    // Cell flags
+    public static final byte SENSOR_FLAG = 0x1;
+    public static final byte TRIGGER_FLAG = 0x2;
+
+    // Special damage values
+    public static final byte DAMAGE_END_LEVEL = -4;
+    public static final byte DAMAGE_FINISH = -100;
+
+    public static final float HALF_SIZE = Tile.SIZE / 2f;
+
+    private final int columns;
+    private final int rows;
+
+    // Cells are stored column by column, matching the [column][row] layout the terrain used to have
+    private final byte[] types;
+    private final byte[] textures;
+    private final byte[] damage;
+    private final byte[] flags;
+
+    private final IntMap<Tile> dynamicCells;
+    private final List<Tile> dynamicTiles;
+    private final ActiveTiles activeTiles;
+
+    private TerrainCache cache;
+
+    /**
+     * Creates an empty tile map
+     * @param columns The number of columns in the map
+     * @param rows The number of rows in the map
+     */
+    public TileMap(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+
+        int size = columns * rows;
+        types = new byte[size];
+        textures = new byte[size];
+        damage = new byte[size];
+        flags = new byte[size];
+
+        dynamicCells = new IntMap<Tile>();
+        dynamicTiles = new ArrayList<Tile>();
+        activeTiles = new ActiveTiles();
+
+        clear();
+    }
+
+    /**
+     * Empties every cell and removes all dynamic tiles
+     */
+    public void clear() {
+        for (int i = 0; i < types.length; i++) {
+            types[i] = EMPTY;
+            textures[i] = -1;
+            damage[i] = 0;
+            flags[i] = 0;
+        }
+
+        for(Tile tile : dynamicTiles) tile.setRegistry(null);
+
+        dynamicCells.clear();
+        dynamicTiles.clear();
+        activeTiles.clear();
+
+        if(cache != null) cache.invalidateAll();
+    }
+
+    /**
+     * Sets the contents of a static cell
+     * @param column The column of the cell
+     * @param row The row of the cell
+     * @param type The type of the cell
+     * @param texture The index of the texture to draw the cell with, or -1 for nothing
+     * @param dmg The damage the cell deals on contact
+     * @param flag The flags for the cell
+     */
+    public void set(int column, int row, byte type, int texture, int dmg, int flag) {
+        int cell = getCell(column, row);
+        types[cell] = type;
+        textures[cell] = (byte) texture;
+        damage[cell] = (byte) dmg;
+        flags[cell] = (byte) flag;
+
+        if(cache != null) cache.invalidate(cell);
+    }
+
+    /**
+     * Adds a dynamic tile, owned by the cell at its row and column
+     * @param tile The tile to add
+     */
+    public void addDynamic(Tile tile) {
+        dynamicCells.put(getCell(tile.getColumn(), tile.getRow()), tile);
+        dynamicTiles.add(tile);
+
+        tile.setRegistry(activeTiles);
+        if(tile.isActive()) activeTiles.enable(tile);
+    }
+
+    // Getters
+    public int getCell(int column, int row) { return (column * rows) + row; }
+    public int getColumn(int cell) { return cell / rows; }
+    public int getRow(int cell) { return cell % rows; }
+
+    public byte getType(int cell) { return types[cell]; }
+    public byte getTexture(int cell) { return textures[cell]; }
+    public byte getDamage(int cell) { return damage[cell]; }
+    public boolean isSensor(int cell) { return (flags[cell] & SENSOR_FLAG) == SENSOR_FLAG; }
+    public boolean isTrigger(int cell) { return (flags[cell] & TRIGGER_FLAG) == TRIGGER_FLAG; }
+    public boolean isEmpty(int cell) { return types[cell] == EMPTY; }
+
+    public float getMinX(int cell) { return getColumn(cell) * Tile.SIZE; }
+    public float getMinY(int cell) { return getRow(cell) * Tile.SIZE; }
+    public float getCentreX(int cell) { return getMinX(cell) + HALF_SIZE; }
+    public float getCentreY(int cell) { return getMinY(cell) + HALF_SIZE; }
+
+    public Tile getDynamic(int cell) { return dynamicCells.get(cell); }
+    public List<Tile> getDynamicTiles() { return dynamicTiles; }
+    public ActiveTiles getActiveTiles() { return activeTiles; }
+
+    public int getColumns() { return columns; }
+    public int getRows() { return rows; }
+    public int getSize() { return types.length; }
+
+    public void setCache(TerrainCache cache) { this.cache = cache; }
+}
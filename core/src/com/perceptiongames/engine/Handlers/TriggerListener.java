@@ -0,0 +1,21 @@
+package com.perceptiongames.engine.Handlers;
+
+import com.perceptiongames.engine.Entities.Entity;
+
+/**
+ * Receives trigger events from the World when a body enters or leaves a trigger cell <br>
+ *     Events are only sent when the state changes, a body staying inside a trigger costs nothing
+ */
+public interface TriggerListener {
+
+    enum Event { ENTER, EXIT }
+
+    /**
+     * Called when a body starts or stops overlapping a trigger cell
+     * @param event Whether the body entered or left the trigger
+     * @param body The body which moved
+     * @param cell The trigger cell in the terrain
+     * @param type The cell type of the trigger, one of the TileMap.SENSOR_ types
+     */
+    void onTrigger(Event event, Entity body, int cell, byte type);
+}
@@ -0,0 +1,60 @@
+package com.perceptiongames.engine.Handlers;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.perceptiongames.engine.Entities.AABB;
+import com.perceptiongames.engine.Handlers.Terrain.Tile;
+
+/**
+ * The area of the world a camera can currently see, for skipping anything outside of it <br>
+ *     The visible cells are worked out straight from the bounds and the tile size
+ */
+public class ViewBounds {
+
+    // Sprites can be drawn larger than their AABBs, so entities are tested against a slightly bigger view
+    private final float margin;
+
+    private float minX, minY;
+    private float maxX, maxY;
+
+    /**
+     * @param margin How far outside the view an AABB can be and still count as visible
+     */
+    public ViewBounds(float margin) {
+        this.margin = margin;
+    }
+
+    /**
+     * Updates the bounds to match a camera
+     * @param camera The camera to take the position, viewport and zoom from
+     */
+    public void set(OrthographicCamera camera) {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+
+        minX = camera.position.x - halfWidth;
+        maxX = camera.position.x + halfWidth;
+        minY = camera.position.y - halfHeight;
+        maxY = camera.position.y + halfHeight;
+    }
+
+    /**
+     * Checks whether an AABB is, or is close to being, on screen
+     * @param aabb The AABB to check
+     * @return True if any of it is within the view and margin
+     */
+    public boolean overlaps(AABB aabb) {
+        return aabb.getMaxX() >= minX - margin && aabb.getMinX() <= maxX + margin &&
+                aabb.getMaxY() >= minY - margin && aabb.getMinY() <= maxY + margin;
+    }
+
+    // The range of cells which are at least partly visible, these may be outside of the map
+    public int getMinColumn() { return (int) Math.floor(minX / Tile.SIZE); }
+    public int getMaxColumn() { return (int) Math.floor(maxX / Tile.SIZE); }
+    public int getMinRow() { return (int) Math.floor(minY / Tile.SIZE); }
+    public int getMaxRow() { return (int) Math.floor(maxY / Tile.SIZE); }
+
+    public float getMinX() { return minX; }
+    public float getMinY() { return minY; }
+    public float getMaxX() { return maxX; }
+    public float getMaxY() { return maxY; }
+}
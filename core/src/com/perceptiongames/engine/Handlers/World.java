@@ -1,90 +1,328 @@
 package com.perceptiongames.engine.Handlers;
 
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectFloatMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
 import com.perceptiongames.engine.Entities.AABB;
 import com.perceptiongames.engine.Entities.Entity;
 import com.perceptiongames.engine.Handlers.Terrain.Tile;
+import com.perceptiongames.engine.Handlers.Terrain.TileGrid;
+import com.perceptiongames.engine.Handlers.Terrain.TileMap;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+/**
+ * The physics stage <br>
+ *     Resolves dynamic bodies against the static terrain layer, finds bodies within reach of each other with sort
+ *     and sweep and hands every contact back to the gameplay code <br>
+ *     Trigger cells are not reported as contacts, instead a TriggerListener is told when bodies enter and leave them
+ */
 public class World {
 
-    private List<Entity> staticBodies;
-    private List<Entity> dynamicBodies;
+    private final List<Entity> dynamicBodies;
 
-    private Tile[][] terrain;
+    // The trigger cells each body was inside last step and this step
+    private final ObjectMap<Entity, IntArray> previousTriggers;
+    private final ObjectMap<Entity, IntArray> currentTriggers;
+    private TriggerListener triggerListener;
 
-    public World() {
-        staticBodies = new ArrayList<Entity>();
+    // Dynamic bodies kept sorted by the left edge of their reach for sort and sweep
+    // The order barely changes between steps, so an insertion sort is close to linear
+    private Entity[] sorted;
+    private int sortedCount;
+
+    // How far past its box each body can affect others, such as with a weapon
+    private final ObjectFloatMap<Entity> reach;
+
+    private TileMap terrain;
+    private TileGrid grid;
+
+    private final Array<Contact> terrainContacts;
+    private final Array<Contact> bodyContacts;
+    private final Pool<Contact> contactPool;
+    private final Pool<IntArray> triggerPool;
+
+    public World(TileMap terrain) {
         dynamicBodies = new ArrayList<Entity>();
-    }
+        sorted = new Entity[16];
+        reach = new ObjectFloatMap<Entity>();
+
+        previousTriggers = new ObjectMap<Entity, IntArray>();
+        currentTriggers = new ObjectMap<Entity, IntArray>();
 
-    public void update(float dt) {
+        terrainContacts = new Array<Contact>(false, 32);
+        bodyContacts = new Array<Contact>(false, 16);
+        contactPool = new Pool<Contact>() {
+            @Override
+            protected Contact newObject() { return new Contact(); }
+        };
+        // The trigger lists of removed bodies are reused, so swapping the enemies each level allocates nothing
+        triggerPool = new Pool<IntArray>() {
+            @Override
+            protected IntArray newObject() { return new IntArray(4); }
+        };
+
+        grid = new TileGrid(terrain);
+        this.terrain = terrain;
+    }
 
-        for(Entity e : staticBodies)
-            e.update(dt);
+    /**
+     * Runs collision detection and response for every dynamic body <br>
+     *     Should be called once per tick after the bodies have moved
+     */
+    public void step() {
+        contactPool.freeAll(terrainContacts);
+        contactPool.freeAll(bodyContacts);
+        terrainContacts.clear();
+        bodyContacts.clear();
 
-        for(Entity e : dynamicBodies)
-            e.update(dt);
         resetCollision();
-        for(Entity d : dynamicBodies) {
-            for(Entity s : staticBodies) {
-                if(d.getAABB().overlaps(s.getAABB())) {
-                    d.getAnimation(d.getAnimationKey()).setPosition(d.getPosition());
+
+        for (int i = 0; i < dynamicBodies.size(); i++) {
+            Entity body = dynamicBodies.get(i);
+            sweepTerrain(body);
+            collideTerrain(body);
+        }
+
+        sortAndSweep();
+    }
+
+    /**
+     * Pulls a body back to where it first touched solid terrain this tick <br>
+     *     Only needed when it moved further than its own half size, otherwise the overlap pass resolves it correctly <br>
+     *     The X axis is swept first and then the Y axis from there, so a body blocked on one axis, such as one
+     *     sliding down a wall it is pressed against, still moves along the other
+     * @param body The body to sweep from its previous position to its current one
+     */
+    private void sweepTerrain(Entity body) {
+        AABB aabb = body.getAABB();
+        float dx = body.getX() - body.getPreviousX();
+        float dy = body.getY() - body.getPreviousY();
+
+        float threshold = Math.min(aabb.getHalfSize().x, aabb.getHalfSize().y);
+        if(Math.abs(dx) < threshold && Math.abs(dy) < threshold) return;
+
+        IntArray cells = grid.query(Math.min(aabb.getMinX(), aabb.getMinX() - dx), Math.min(aabb.getMinY(), aabb.getMinY() - dy),
+                Math.max(aabb.getMaxX(), aabb.getMaxX() - dx), Math.max(aabb.getMaxY(), aabb.getMaxY() - dy));
+
+        aabb.setPosition(body.getPreviousX(), body.getPreviousY());
+        float x = body.getPreviousX() + (dx * sweepCells(aabb, cells, dx, 0));
+
+        aabb.setPosition(x, body.getPreviousY());
+        float y = body.getPreviousY() + (dy * sweepCells(aabb, cells, 0, dy));
+
+        body.setPosition(x, y);
+    }
+
+    // The earliest time of impact of the box moving against any solid cell, 1 if it hits none
+    private float sweepCells(AABB aabb, IntArray cells, float dx, float dy) {
+        float time = 1;
+        for(int i = 0; i < cells.size; i++) {
+            int cell = cells.get(i);
+            if(terrain.isSensor(cell)) continue;
+
+            time = Math.min(time, aabb.sweep(dx, dy, terrain.getCentreX(cell), terrain.getCentreY(cell),
+                    TileMap.HALF_SIZE, TileMap.HALF_SIZE));
+        }
+
+        return time;
+    }
+
+    private void collideTerrain(Entity body) {
+        AABB aabb = body.getAABB();
+
+        // Swap the trigger sets, last step's current set becomes the previous one
+        IntArray inside = previousTriggers.get(body);
+        IntArray wasInside = currentTriggers.get(body);
+        previousTriggers.put(body, wasInside);
+        currentTriggers.put(body, inside);
+        inside.clear();
+
+        IntArray cells = grid.query(aabb);
+        for(int i = 0; i < cells.size; i++) {
+            int cell = cells.get(i);
+            if(aabb.overlaps(terrain.getCentreX(cell), terrain.getCentreY(cell),
+                    TileMap.HALF_SIZE, TileMap.HALF_SIZE, terrain.isSensor(cell))) {
+                if(terrain.isTrigger(cell)) {
+                    inside.add(cell);
+                    if(!wasInside.contains(cell)) dispatch(TriggerListener.Event.ENTER, body, cell);
+                }
+                else {
+                    Contact contact = contactPool.obtain();
+                    contact.setCell(body, cell);
+                    terrainContacts.add(contact);
                 }
             }
         }
 
-        for (int i = 0; i < dynamicBodies.size(); i++) {
-            for (int j = i + 1; j < dynamicBodies.size(); j++) {
-                dynamicBodies.get(i).getAABB().overlaps(
-                        dynamicBodies.get(j).getAABB()
-                );
+        for (int i = 0; i < wasInside.size; i++) {
+            if(!inside.contains(wasInside.get(i))) dispatch(TriggerListener.Event.EXIT, body, wasInside.get(i));
+        }
+
+        for(Tile tile : grid.queryDynamic(aabb)) {
+            if(aabb.overlaps(tile.getAABB())) {
+                Contact contact = contactPool.obtain();
+                contact.setTile(body, tile);
+                terrainContacts.add(contact);
+            }
+        }
+
+        body.getCurrentAnimation().setPosition(body.getX(), body.getY());
+    }
+
+    /**
+     * Finds every pair of dynamic bodies within reach of each other <br>
+     *     Bodies are sorted along the X axis, so each one only needs testing against those starting before it ends
+     */
+    private void sortAndSweep() {
+        for (int i = 1; i < sortedCount; i++) {
+            Entity current = sorted[i];
+            float minX = getReachMinX(current);
+
+            int j = i - 1;
+            while (j >= 0 && getReachMinX(sorted[j]) > minX) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = current;
+        }
+
+        for (int i = 0; i < sortedCount; i++) {
+            AABB a = sorted[i].getAABB();
+            float reachA = reach.get(sorted[i], 0);
+            float maxX = a.getMaxX() + reachA;
+
+            for (int j = i + 1; j < sortedCount; j++) {
+                if(getReachMinX(sorted[j]) > maxX) break;
+
+                AABB b = sorted[j].getAABB();
+                float reachB = reach.get(sorted[j], 0);
+                if(b.getMinY() - reachB <= a.getMaxY() + reachA && b.getMaxY() + reachB >= a.getMinY() - reachA) {
+                    Contact contact = contactPool.obtain();
+                    contact.setOther(sorted[i], sorted[j]);
+                    bodyContacts.add(contact);
+                }
             }
         }
     }
 
-    public void render(SpriteBatch batch) {
-        for (Entity e : staticBodies)
-            e.render(batch);
+    private float getReachMinX(Entity body) { return body.getAABB().getMinX() - reach.get(body, 0); }
 
-        for(Entity e : dynamicBodies)
-            e.render(batch);
+    private void dispatch(TriggerListener.Event event, Entity body, int cell) {
+        if(triggerListener != null) triggerListener.onTrigger(event, body, cell, terrain.getType(cell));
     }
 
     private void resetCollision() {
         for(Entity e : dynamicBodies) {
-           // e.getAABB().setCollisionState(AABB.CollisionState.NONE);
+            e.getAABB().setCollisionFlags(AABB.NONE_BITS);
         }
     }
 
-    public void addStatic(Entity s) { staticBodies.add(s); }
-    public void addStatic(Collection<Entity> s) { staticBodies.addAll(s); }
+    private void rebuildSorted() {
+        if(sorted.length < dynamicBodies.size()) sorted = new Entity[dynamicBodies.size() * 2];
+
+        for (int i = 0; i < sortedCount; i++) sorted[i] = null;
+
+        sortedCount = dynamicBodies.size();
+        for (int i = 0; i < sortedCount; i++) sorted[i] = dynamicBodies.get(i);
+    }
 
-    public void addDynamic(Entity d) { dynamicBodies.add(d); }
-    public void addDynamic(Collection<Entity> d) { dynamicBodies.addAll(d); }
+    public void addDynamic(Entity d) {
+        dynamicBodies.add(d);
+        trackTriggers(d);
+        rebuildSorted();
+    }
+    public void addDynamic(Collection<? extends Entity> d) {
+        for(Entity e : d) {
+            dynamicBodies.add(e);
+            trackTriggers(e);
+        }
+        rebuildSorted();
+    }
 
     public void removeDynamic(Entity d) {
-        if(dynamicBodies.contains(d))
+        if(dynamicBodies.contains(d)) {
             dynamicBodies.remove(d);
+            untrackTriggers(d);
+            reach.remove(d, 0);
+        }
+        rebuildSorted();
     }
-    public void removeDynamic(Collection<Entity> d) {
-        if(dynamicBodies.containsAll(d))
+    public void removeDynamic(Collection<? extends Entity> d) {
+        if(dynamicBodies.containsAll(d)) {
             dynamicBodies.removeAll(d);
+            for(Entity e : d) {
+                untrackTriggers(e);
+                reach.remove(e, 0);
+            }
+        }
+        rebuildSorted();
+    }
+
+    /**
+     * Sets how far past its box a body can affect others, so bodies this close are reported as contacts <br>
+     *     Bodies have no reach until it is set, and lose it when they are removed
+     * @param body The dynamic body
+     * @param distance The distance past each edge of its box
+     */
+    public void setReach(Entity body, float distance) {
+        if(distance < 0)
+            throw new IllegalArgumentException("Error: A body's reach can't be negative, got " + distance);
+
+        reach.put(body, distance);
     }
 
-    public void removeStatic(Entity s) {
-        if(staticBodies.contains(s))
-            staticBodies.remove(s);
+    private void trackTriggers(Entity body) {
+        IntArray previous = triggerPool.obtain();
+        IntArray current = triggerPool.obtain();
+        previous.clear();
+        current.clear();
+        previousTriggers.put(body, previous);
+        currentTriggers.put(body, current);
     }
-    public void removeStatic(Collection<Entity> s) {
-        if(staticBodies.containsAll(s))
-            staticBodies.removeAll(s);
+
+    private void untrackTriggers(Entity body) {
+        IntArray previous = previousTriggers.remove(body);
+        IntArray current = currentTriggers.remove(body);
+        if(previous != null) triggerPool.free(previous);
+        if(current != null) triggerPool.free(current);
     }
 
-    public void setTerrain(Tile[][] terrain) {
+    /**
+     * Swaps the static terrain layer <br>
+     *     Bodies are treated as being outside every trigger in the new terrain
+     * @param terrain The new terrain
+     */
+    public void setTerrain(TileMap terrain) {
         this.terrain = terrain;
+        grid.setTerrain(terrain);
+
+        for(IntArray cells : previousTriggers.values()) cells.clear();
+        for(IntArray cells : currentTriggers.values()) cells.clear();
+    }
+
+    public void setTriggerListener(TriggerListener listener) { triggerListener = listener; }
+
+    // Getters
+    // Contacts are only valid until the next step
+    public Array<Contact> getTerrainContacts() { return terrainContacts; }
+    public Array<Contact> getBodyContacts() { return bodyContacts; }
+
+    public TileMap getTerrain() { return terrain; }
+    public TileGrid getGrid() { return grid; }
+
+    /**
+     * Checks whether a body is currently inside a trigger cell
+     * @param body The body to check
+     * @param cell The trigger cell
+     * @return True if the body overlapped the trigger during the last step
+     */
+    public boolean isInside(Entity body, int cell) {
+        IntArray cells = currentTriggers.get(body);
+        return cells != null && cells.contains(cell);
     }
 }
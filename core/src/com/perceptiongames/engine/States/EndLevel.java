@@ -1,13 +1,12 @@
 package com.perceptiongames.engine.States;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.perceptiongames.engine.Entities.Player;
 import com.perceptiongames.engine.Game;
+import com.perceptiongames.engine.Handlers.Controls;
 import com.perceptiongames.engine.Handlers.GameStateManager;
 
 public class EndLevel extends State {
@@ -53,7 +52,7 @@ public class EndLevel extends State {
 
 
     public void update(float dt) {
-        if(Gdx.input.isKeyJustPressed(Input.Keys.R)) {
+        if(game.getControls().isPressed(Controls.RESET)) {
             play.resetLevel();
             gsm.popState();
         }
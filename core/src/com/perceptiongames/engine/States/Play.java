@@ -1,29 +1,46 @@
 package com.perceptiongames.engine.States;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
 import com.perceptiongames.engine.Entities.AABB;
 import com.perceptiongames.engine.Entities.Button;
 import com.perceptiongames.engine.Entities.Enemy;
+import com.perceptiongames.engine.Entities.Entity;
 import com.perceptiongames.engine.Entities.Player;
 import com.perceptiongames.engine.Game;
 import com.perceptiongames.engine.Handlers.Animation;
+import com.perceptiongames.engine.Handlers.AnimationDef;
+import com.perceptiongames.engine.Handlers.Combat;
+import com.perceptiongames.engine.Handlers.CombatListener;
+import com.perceptiongames.engine.Handlers.Contact;
+import com.perceptiongames.engine.Handlers.Controls;
 import com.perceptiongames.engine.Handlers.GameStateManager;
+import com.perceptiongames.engine.Handlers.Hud;
+import com.perceptiongames.engine.Handlers.Profiler;
+import com.perceptiongames.engine.Handlers.TriggerListener;
+import com.perceptiongames.engine.Handlers.ViewBounds;
+import com.perceptiongames.engine.Handlers.World;
 import com.perceptiongames.engine.Handlers.Terrain.*;
 
 import javax.sound.sampled.Line;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Play extends State {
+public class Play extends State implements TriggerListener, CombatListener {
 
     public static float MUSIC_VOLUME;
     public static float AUDIO_VOLUME;
 
+    private static final float AGGRO_RADIUS = 300;
+
+    // Camera panning and zoom speeds, per second so they don't depend on the tick rate
+    private static final float CAMERA_SPEED = 480;
+    private static final float CAMERA_RETURN_SPEED = 180;
+    private static final float ZOOM_SPEED = 1.2f;
+
     private ShapeRenderer debug;
     private BitmapFont debugFont;
 
@@ -31,11 +48,15 @@ public class Play extends State {
 
     private Player player;
     private List<Enemy> enemies;
+    private Array<Enemy> aggro;
 
     private List<Vector2> deathPoints;
 
     private TerrainGenerator generator;
-    private Tile[][] terrain;
+    private TileMap terrain;
+    private TerrainCache terrainCache;
+    private World world;
+    private Combat combat;
     private Texture bg;
     private Texture outline;
 
@@ -47,22 +68,35 @@ public class Play extends State {
     private float cameraXOffset;
     private float cameraYOffset;
     private OrthographicCamera hudCamera;
+    private ViewBounds view;
+    private Hud hud;
 
     private boolean musicOn;
     private boolean audioOn;
     private Button musicToggle;
     private Button audioToggle;
 
-    private boolean touched;
     private int totalKills;
     private float totalTime;
 
-    public Play(GameStateManager gsm) {
+    private Controls controls;
+
+    public Play(GameStateManager gsm) { this(gsm, gsm.game.nextSeed()); }
+
+    /**
+     * Starts a new run
+     * @param gsm The state manager
+     * @param seed The seed the levels are generated from
+     */
+    public Play(GameStateManager gsm, long seed) {
         super(gsm);
 
+        controls = game.getControls();
+        game.beginRecording(seed);
+
         levelNumber = 1;
         loadContent();
-        generateEntities();
+        generateEntities(seed);
         totalKills=0;
 
         debug = new ShapeRenderer();
@@ -72,13 +106,19 @@ public class Play extends State {
         bg = content.getTexture("Background");
         bg.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.Repeat);
 
-        outline = content.getTexture("BrokenWall1");
+        outline = content.getTexture("Outline");
         outline.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.Repeat);
 
         deathPoints = new ArrayList<Vector2>();
         showDeathPoints = false;
         hudCamera = new OrthographicCamera();
         hudCamera.setToOrtho(true);
+        hud = new Hud(hudCamera, debugFont, musicToggle, audioToggle);
+
+        // The toggles are controls, so clicking them is recorded like any other input
+        controls.bind(Controls.MUSIC, musicToggle.getAABB(), hudCamera);
+        controls.bind(Controls.AUDIO, audioToggle.getAABB(), hudCamera);
+        view = new ViewBounds(Tile.SIZE);
         timeTaken = 0;
         enemyReset = 0;
 
@@ -94,43 +134,12 @@ public class Play extends State {
     }
 
     private void renderHUD() {
-        Gdx.gl.glEnable(GL20.GL_BLEND);
-        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
-        debug.setProjectionMatrix(hudCamera.combined);
-        batch.setProjectionMatrix(hudCamera.combined);
-        debug.begin(ShapeRenderer.ShapeType.Filled);
-        debugFont.setColor(0,0,0,1);
-        mouse.set(0,0,0);
-        hudCamera.unproject(mouse);
-        mouse.y--;
-
-        Color a = new Color(253f/255,0,0,0.6f);
-        Color b = new Color(253f/255,0,0,0.75f);
-        debug.rect(mouse.x, mouse.y, 200, 75, a , a, a, a);
-        debug.triangle(mouse.x + 200, mouse.y, mouse.x + 200, mouse.y + 75, mouse.x + 375, mouse.y, a, a, b);
-
-        mouse.set(viewport.getScreenWidth(), 0, 0);
-        hudCamera.unproject(mouse);
-        mouse.y--;
-
-        musicToggle.setPosition(mouse.x - 170, mouse.y + 22);
-        audioToggle.setPosition(mouse.x - 70, mouse.y + 22);
-
-        debug.rect(mouse.x - 200, mouse.y, 200, 75, a , a, a, a);
-        debug.triangle(mouse.x - 200, mouse.y, mouse.x - 200, mouse.y + 75, mouse.x - 375, mouse.y, a, a, b);
-
-        debug.end();
-        Gdx.gl.glDisable(GL20.GL_BLEND);
-        batch.begin();
-        musicToggle.render(batch);
-        audioToggle.render(batch);
-        debugFont.draw(batch, "Level: " + levelNumber, mouse.x - 140, mouse.y + 5);
-        mouse.set(0, 0, 0);
-        hudCamera.unproject(mouse);
-        debugFont.draw(batch, "Time: " + Math.round(timeTaken), mouse.x + 20,mouse.y + 5);
-        debugFont.draw(batch, "Death Count: "+player.getNumberDeaths(),mouse.x+20,mouse.y+30);
-        debugFont.draw(batch, "Enemies Killed: "+ player.getEnemiesKilled(), mouse.x + 20, mouse.y + 55);
-        batch.end();
+        hud.setLevel(levelNumber);
+        hud.setTime(Math.round(timeTaken));
+        hud.setDeaths(player.getNumberDeaths());
+        hud.setKills(player.getEnemiesKilled());
+        hud.render(batch, debug);
+
         debug.setProjectionMatrix(camera.combined);
         batch.setProjectionMatrix(camera.combined);
     }
@@ -138,47 +147,44 @@ public class Play extends State {
 
     @Override
     public void update(float dt) {
+        Profiler.begin(Profiler.INPUT);
 
-
-        if(Gdx.input.isKeyJustPressed(Input.Keys.F11)) {
-            Gdx.graphics.setFullscreenMode(Gdx.graphics.getDisplayMode());
-        }
         boolean movingCamera=false;
-        if(Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+        if(controls.isDown(Controls.CAMERA_LEFT)) {
             movingCamera=true;
             if(cameraXOffset-player.getAABB().getHeight()>-Game.WIDTH/2)
-                cameraXOffset-=8;
+                cameraXOffset-=CAMERA_SPEED*dt;
         }
-        else if(Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+        else if(controls.isDown(Controls.CAMERA_RIGHT)) {
             movingCamera=true;
             if(cameraXOffset+player.getAABB().getWidth()<Game.WIDTH/2)
-                cameraXOffset+=8;
+                cameraXOffset+=CAMERA_SPEED*dt;
         }
-        else if(Gdx.input.isKeyPressed(Input.Keys.UP)) {
+        else if(controls.isDown(Controls.CAMERA_UP)) {
             movingCamera=true;
             if(cameraYOffset-player.getAABB().getHeight()/2>-Game.HEIGHT/2)
-                cameraYOffset-=8;
+                cameraYOffset-=CAMERA_SPEED*dt;
         }
-        else if(Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
+        else if(controls.isDown(Controls.CAMERA_DOWN)) {
             movingCamera=true;
             if(cameraYOffset+player.getAABB().getHeight()/2<Game.HEIGHT/2)
-                cameraYOffset+=8;
+                cameraYOffset+=CAMERA_SPEED*dt;
         }
-        else if(Gdx.input.isKeyPressed(Input.Keys.Q)) {
-            camera.zoom = Math.max(camera.zoom - 0.02f, 0);
-        } else if (Gdx.input.isKeyPressed(Input.Keys.E)) {
-            camera.zoom = Math.min(camera.zoom + 0.02f, 4f);
-        } else if (!player.isLive() && Gdx.input.isKeyJustPressed(Input.Keys.R)) {
+        else if(controls.isDown(Controls.ZOOM_IN)) {
+            camera.zoom = Math.max(camera.zoom - ZOOM_SPEED*dt, 0);
+        } else if (controls.isDown(Controls.ZOOM_OUT)) {
+            camera.zoom = Math.min(camera.zoom + ZOOM_SPEED*dt, 4f);
+        } else if (!player.isLive() && controls.isPressed(Controls.RESET)) {
             resetPlayer();
-        } else if (Gdx.input.isKeyJustPressed(Input.Keys.P)) {
+        } else if (controls.isPressed(Controls.DEATH_POINTS)) {
             showDeathPoints = !showDeathPoints;
         }
 
         if (!movingCamera) {
             if (Math.abs(cameraXOffset) > 10)
-                cameraXOffset -= (cameraXOffset / Math.abs(cameraXOffset)) * 3f;
+                cameraXOffset -= (cameraXOffset / Math.abs(cameraXOffset)) * CAMERA_RETURN_SPEED*dt;
             if (Math.abs(cameraYOffset) > 10)
-                cameraYOffset -= (cameraYOffset / Math.abs(cameraYOffset)) * 3f;
+                cameraYOffset -= (cameraYOffset / Math.abs(cameraYOffset)) * CAMERA_RETURN_SPEED*dt;
             if (Math.abs(cameraXOffset) < 10) {
                 cameraXOffset = 0;
             }
@@ -187,103 +193,98 @@ public class Play extends State {
             }
         }
 
+        Profiler.end(Profiler.INPUT);
+
+        Profiler.begin(Profiler.ENTITIES);
         player.update(dt);
 
-        for(Enemy e : enemies) {
-            if((e.getPosition().x-player.getAABB().getCentre().x)*(e.getPosition().x-player.getAABB().getCentre().x)
-                    + (e.getPosition().y-player.getAABB().getCentre().y)*(e.getPosition().y-player.getAABB().getCentre().y)<300*300)
-            {
-                e.playerDirection(-(e.getPosition().x-player.getAABB().getCentre().x)/Math.abs((e.getPosition().x-player.getAABB().getCentre().x)));
-            }
-            else
-            {
-                e.playerDirection(0);
-            }
-            e.update(dt);
+        // Only the enemies near the player chase it, the ones which were chasing it last tick stop
+        for(int i = 0; i < aggro.size; i++) { aggro.get(i).playerDirection(0); }
+        aggro.clear();
+
+        // The distance is from the top left of each enemy to the centre of the player
+        float playerX = player.getAABB().getCentre().x;
+        float playerY = player.getAABB().getCentre().y;
+        combat.getEnemies().query(playerX - AGGRO_RADIUS, playerY - AGGRO_RADIUS,
+                playerX + AGGRO_RADIUS, playerY + AGGRO_RADIUS, aggro);
+        for(int i = aggro.size - 1; i >= 0; i--) {
+            float dx = aggro.get(i).getX() - playerX;
+            float dy = aggro.get(i).getY() - playerY;
+            if((dx * dx) + (dy * dy) < AGGRO_RADIUS * AGGRO_RADIUS) aggro.get(i).playerDirection(-dx / Math.abs(dx));
+            else aggro.removeIndex(i);
         }
 
+        for(Enemy e : enemies) { e.update(dt); }
+        Profiler.end(Profiler.ENTITIES);
 
-        mouse.set(Gdx.input.getX(), Gdx.input.getY(), 0);
-        hudCamera.unproject(mouse);
-        if(musicToggle.getAABB().contains(new Vector2(mouse.x, mouse.y)) && isJustClicked()) {
+        Profiler.begin(Profiler.INPUT);
+        if(controls.isPressed(Controls.MUSIC)) {
             musicOn = !musicOn;
             if(musicOn) {
-                musicToggle.setCurrentAnimation("On");
+                musicToggle.setCurrentAnimation(Button.ON);
                 content.getMusic("Music").play();
             }
             else {
-                musicToggle.setCurrentAnimation("Off");
+                musicToggle.setCurrentAnimation(Button.OFF);
                 content.getMusic("Music").stop();
-                System.out.println(enemies.size());
             }
+            hud.invalidate();
         }
 
-        if(audioToggle.getAABB().contains(new Vector2(mouse.x, mouse.y)) && isJustClicked()) {
+        if(controls.isPressed(Controls.AUDIO)) {
             audioOn = !audioOn;
             if(audioOn) {
                 AUDIO_VOLUME = 0.1f;
-                audioToggle.setCurrentAnimation("On");
+                audioToggle.setCurrentAnimation(Button.ON);
             }
             else {
                 AUDIO_VOLUME = 0;
-                audioToggle.setCurrentAnimation("Off");
+                audioToggle.setCurrentAnimation(Button.OFF);
             }
+            hud.invalidate();
         }
 
-        for (int i = 0; i < terrain.length; i++) {
-            for(int j = 0; j < terrain[0].length; j++) {
-                Tile current = terrain[i][j];
-                if(current == null) continue;
-
-                if(current instanceof SpearBlock) current.update(dt);
-                if(current instanceof FallingBlock) {
-                    current.update(dt);
-
-                    if(current.isActive() && player.getPosition().y > current.getAABB().getMaximum().y) {
-                        if(Math.abs(player.getPosition().x - current.getAABB().getPosition().x) < Tile.SIZE) {
-                            ((FallingBlock) current).setVelocity(450f);
-                            ((FallingBlock) current).setPlayerColliding(true);
-                        }
+        Profiler.end(Profiler.INPUT);
+
+        Profiler.begin(Profiler.TILES);
+        ActiveTiles active = terrain.getActiveTiles();
+        active.update(dt);
+        for(int i = 0; i < active.size(); i++) {
+            Tile current = active.get(i);
+            if(current instanceof FallingBlock) {
+                if(player.getY() > current.getAABB().getMaxY()) {
+                    if(Math.abs(player.getX() - current.getAABB().getMinX()) < Tile.SIZE) {
+                        ((FallingBlock) current).setVelocity(450f);
+                        ((FallingBlock) current).setPlayerColliding(true);
                     }
                 }
+            }
+        }
 
-                if(player.getAABB().overlaps(current.getAABB())) {
-                    player.getAnimation(player.getAnimationKey()).setPosition(player.getPosition());
-
-                    if(current instanceof StandardTile) { standardTileCollision((StandardTile) current); }
-                    else if(current instanceof SpearBlock) { spearBlockCollision((SpearBlock) current); }
-                    else if(current instanceof Sensor) { sensorCollision((Sensor) current, -1); }
-                    else if(current instanceof FallingBlock) { fallingBlockCollision((FallingBlock) current); }
-                }
-
-                for(int e = 0; e < enemies.size(); e++) {
+        Profiler.end(Profiler.TILES);
 
-                    if(enemies.get(e).getAABB().overlaps(current.getAABB())) {
-                        if(current instanceof Sensor) { sensorCollision((Sensor) current, e); }
-                    }
+        Profiler.begin(Profiler.PHYSICS);
+        world.step();
 
-                    if(enemies.get(e).isAttacking() && enemies.get(e).getWeapon().overlaps(player.getAABB())) {
-                        player.hit();
-                    }
-                    if(player.getWeapon().overlaps(enemies.get(e).getAABB()) && player.isAttacking()) {
-                        if(enemies.get(e).isLive())
-                            player.incrementEnemiesKillled();
+        Array<Contact> contacts = world.getTerrainContacts();
+        for(int i = 0; i < contacts.size; i++) {
+            Contact contact = contacts.get(i);
+            if(contact.getBody() != player) continue;
 
-                        enemies.get(e).hit();
-                    }
-                }
+            if(contact.isCell()) { cellCollision(contact.getCell()); }
+            else {
+                Tile current = contact.getTile();
+                if(current instanceof SpearBlock) { spearBlockCollision((SpearBlock) current); }
+                else if(current instanceof FallingBlock) { fallingBlockCollision((FallingBlock) current); }
             }
         }
 
-        if(player.isLive()) {
-            camera.position.set(
-                    Math.max(Math.min(player.getAABB().getPosition().x + 16+cameraXOffset, Game.WORLD_WIDTH - 320), 320),
-                    Math.max(Math.min(player.getAABB().getPosition().y + 32+cameraYOffset, Game.WORLD_HEIGHT - 180), 180),
-                    0);
-        }
+        Profiler.end(Profiler.PHYSICS);
 
-        camera.update();
-        hudCamera.update();
+        Profiler.begin(Profiler.COMBAT);
+        for(Enemy e : enemies) { combat.updateEnemy(e); }
+        combat.step();
+        Profiler.end(Profiler.COMBAT);
 
         if(player.isLive())
             timeTaken += dt;
@@ -291,6 +292,21 @@ public class Play extends State {
 
     @Override
     public void render() {
+        Profiler.begin(Profiler.WORLD_RENDER);
+
+        // How far between the last two ticks to draw things, so movement stays smooth at any tick rate
+        float alpha = game.getAlpha();
+
+        if(player.isLive()) {
+            camera.position.set(
+                    Math.max(Math.min(player.getRenderX(alpha) + 16+cameraXOffset, Game.WORLD_WIDTH - 320), 320),
+                    Math.max(Math.min(player.getRenderY(alpha) + 32+cameraYOffset, Game.WORLD_HEIGHT - 180), 180),
+                    0);
+        }
+
+        camera.update();
+        hudCamera.update();
+        view.set(camera);
 
         batch.setProjectionMatrix(camera.combined);
         debug.setProjectionMatrix(camera.combined);
@@ -305,17 +321,19 @@ public class Play extends State {
                 Game.WORLD_WIDTH / bg.getWidth(), Game.WORLD_HEIGHT / bg.getHeight());
 
 
-        player.render(batch);
-
-        for(Tile[] column : terrain) {
-            for(Tile tile : column) {
-                if(tile != null) { tile.render(batch); }
-            }
-        }
-
+        player.render(batch, alpha);
+        batch.end();
 
+        // The static terrain comes from the cache, which is drawn between the player and everything else
+        terrainCache.render(camera.combined, view.getMinColumn(), view.getMinRow(), view.getMaxColumn(), view.getMaxRow());
 
-        for(Enemy e : enemies) { e.render(batch);}
+        batch.begin();
+        for(Tile tile : terrain.getDynamicTiles()) {
+            if(view.overlaps(tile.getAABB())) tile.render(batch, alpha);
+        }
+        for(Enemy e : enemies) {
+            if(view.overlaps(e.getAABB())) e.render(batch, alpha);
+        }
         batch.end();
 
         if(showDeathPoints) {
@@ -326,16 +344,24 @@ public class Play extends State {
             debug.end();
         }
 
-        renderHUD();
+        Profiler.end(Profiler.WORLD_RENDER);
 
-        touched = Gdx.input.isTouched();
+        Profiler.begin(Profiler.HUD);
+        renderHUD();
+        Profiler.end(Profiler.HUD);
     }
 
     @Override
-    public void dispose() {}
+    public void dispose() {
+        terrainCache.dispose();
+        hud.dispose();
+        generator.dispose();
+        controls.unbind(Controls.MUSIC);
+        controls.unbind(Controls.AUDIO);
+    }
 
     private void spearBlockCollision(SpearBlock tile) {
-        float x = Math.abs(player.getPosition().x - tile.getAnimation().getPosition().x);
+        float x = Math.abs(player.getX() - tile.getAnimation().getX());
         if(tile.isFacingLeft()) {
             if (x < 80 && player.getAABB().hasCollisionBit(AABB.LEFT_BITS))
                 player.hit();
@@ -346,35 +372,34 @@ public class Play extends State {
         }
     }
 
-    private void sensorCollision(Sensor tile, int index) {
-        if(tile.getData().contains("Enemy") && index >= 0) {
-            if(tile.getData().equals("EnemyLeft")) {
-                enemies.get(index).setCurrent(2);
-            }
-            else if(tile.getData().equals("EnemyRight")) {
-                enemies.get(index).setCurrent(1);
+    @Override
+    public void onTrigger(TriggerListener.Event event, Entity body, int cell, byte type) {
+        if(event != TriggerListener.Event.ENTER) return;
+
+        if(type == TileMap.SENSOR_ENEMY_LEFT && body instanceof Enemy) {
+            ((Enemy) body).setCurrent(2);
+        }
+        else if(type == TileMap.SENSOR_ENEMY_RIGHT && body instanceof Enemy) {
+            ((Enemy) body).setCurrent(1);
+        }
+        else if(type == TileMap.SENSOR_PLAYER) {
+            int row = terrain.getRow(cell);
+            int col = terrain.getColumn(cell);
+
+            // Wake up any dynamic tiles surrounding the sensor, enemies walking into it set off the traps too
+            for (int i = Math.max(col - 1, 0); i <= Math.min(col + 1, terrain.getColumns() - 1); i++) {
+                for (int j = Math.max(row - 1, 0); j <= Math.min(row + 1, terrain.getRows() - 1); j++) {
+                    Tile t = terrain.getDynamic(terrain.getCell(i, j));
+                    if (t != null) t.setActive(true);
+                }
             }
         }
-        else if(!tile.getData().contains("Enemy")) {
-            int row = tile.getRow();
-            int col = tile.getColumn();
-
-            Tile[] s = new Tile[]{null, null, null, null, null, null, null, null};
-
-            int xMax = TerrainGenerator.ROOM_WIDTH * TerrainGenerator.GRID_SIZE;
-            int yMax = TerrainGenerator.ROOM_HEIGHT * TerrainGenerator.GRID_SIZE;
-
-
-            if (row + 1 < yMax && col + 1 < xMax) { s[0] = terrain[col + 1][row + 1]; }
-            if (row - 1 > 0 && col - 1 > 0) { s[1] = terrain[col - 1][row - 1]; }
-            if (row + 1 < yMax) { s[2] = terrain[col][row + 1]; }
-            if (row - 1 > 0) { s[3] = terrain[col][row - 1]; }
-            if (col + 1 < xMax && row - 1 > 0) { s[4] = terrain[col + 1][row - 1]; }
-            if (col - 1 > 0) { s[5] = terrain[col - 1][row]; }
-            if (col + 1 < xMax) { s[6] = terrain[col + 1][row]; }
-            if (col - 1 > 0 && row + 1 < yMax) { s[7] = terrain[col - 1][row + 1]; }
+    }
 
-            for (Tile t : s) { if (t != null) t.setActive(true); }
+    @Override
+    public void onHit(CombatListener.Event event, Entity attacker, Entity target) {
+        if(event == CombatListener.Event.ENEMY_HIT) {
+            player.incrementEnemiesKillled();
         }
     }
 
@@ -389,14 +414,15 @@ public class Play extends State {
 
     }
 
-    private void standardTileCollision(StandardTile tile) {
-        if(tile.getDamage() > 0) { player.hit(); }
-        else if(tile.getDamage() == -4) {
+    private void cellCollision(int cell) {
+        byte damage = terrain.getDamage(cell);
+        if(damage > 0) { player.hit(); }
+        else if(damage == TileMap.DAMAGE_END_LEVEL) {
             enemyReset = player.getEnemiesKilled();
             totalKills+=enemyReset;
             gsm.pushState(GameStateManager.END_LEVEL);
         }
-        else if(tile.getDamage()==-100)
+        else if(damage == TileMap.DAMAGE_FINISH)
         {
             enemyReset = player.getEnemiesKilled();
             totalKills+=enemyReset;
@@ -415,25 +441,25 @@ public class Play extends State {
         for(Enemy e : enemies) {
             if(!e.isLive()) {
                 e.setLive(true);
+                combat.addEnemy(e);
             }
         }
 
-        for(Tile[] t : terrain) {
-            for(Tile current : t) {
-                if(current instanceof FallingBlock) {
-                    if(!((FallingBlock) current).isAlive())
-                        ((FallingBlock) current).reset();
-                    else
-                        current.setActive(false);
-                }
+        for(Tile current : terrain.getDynamicTiles()) {
+            if(current instanceof FallingBlock) {
+                if(!((FallingBlock) current).isAlive())
+                    ((FallingBlock) current).reset();
+                else
+                    current.setActive(false);
             }
         }
     }
 
     public void resetLevel() {
 
-        generator.generate();
-        player.reset(generator.getStartPosition());
+        // The next level was built while this one was played, so this is just a swap
+        Level level = generator.nextLevel();
+        player.reset(level.getStartPosition());
         camera.position.set(
                 Math.max(Math.min(player.getAABB().getPosition().x + 16, Game.WORLD_WIDTH - 320), 320),
                 Math.max(Math.min(player.getAABB().getPosition().y + 32, Game.WORLD_HEIGHT - 180), 180),
@@ -441,59 +467,73 @@ public class Play extends State {
 
         camera.zoom = 0.7f;
 
+        // The old enemies go back to the generator's pools when the level after this one is built
+        world.removeDynamic(enemies);
         enemies.clear();
-        enemies.addAll(generator.getEnemies());
+        for(Enemy e : level.getEnemies()) { enemies.add(e); }
+        world.addDynamic(enemies);
+
+        aggro.clear();
+        combat.clear();
+        for(Enemy e : enemies) { combat.addEnemy(e); }
 
         deathPoints.clear();
         totalTime+=timeTaken;
         timeTaken=0;
-        terrain = generator.getTerrain();
+        terrain = level.getTerrain();
+        terrainCache.setTerrain(terrain);
+        world.setTerrain(terrain);
         levelNumber++;
-        System.out.println("Floor "+levelNumber);
         if(levelNumber==7)
         {
             generator.setFinalLevel(true);
         }
+
+        // Nothing uses the old map now, so the level after this one can be built into it
+        generator.prepareNext();
     }
 
     private void loadContent() {
 
-        content.loadTexture("PlayerIdle", "PlayerIdle.png");
-        content.loadTexture("PlayerMove", "PlayerRun.png");
-        content.loadTexture("PlayerPush", "PlayerPush.png");
-        content.loadTexture("PlayerAttackLeft", "PlayerAttackLeft.png");
-        content.loadTexture("PlayerAttackRight", "PlayerAttackRight.png");
+        content.loadRegion("PlayerIdle", "PlayerIdle.png");
+        content.loadRegion("PlayerMove", "PlayerRun.png");
+        content.loadRegion("PlayerPush", "PlayerPush.png");
+        content.loadRegion("PlayerAttackLeft", "PlayerAttackLeft.png");
+        content.loadRegion("PlayerAttackRight", "PlayerAttackRight.png");
         content.loadTexture("Badlogic", "badlogic.jpg");
         content.loadTexture("Block", "testBlock.png");
 
-        content.loadTexture("Enemy0", "Soldier.png");
-        content.loadTexture("EnemyMove0", "SoldierMove.png");
-        content.loadTexture("EnemyAttack0", "SoldierAttack.png");
+        content.loadRegion("Enemy0", "Soldier.png");
+        content.loadRegion("EnemyMove0", "SoldierMove.png");
+        content.loadRegion("EnemyAttack0", "SoldierAttack.png");
+
+        content.loadRegion("Enemy1", "Soldier2.png");
+        content.loadRegion("EnemyMove1", "Soldier2Move.png");
+        content.loadRegion("EnemyAttack1", "Soldier2Attack.png");
 
-        content.loadTexture("Enemy1", "Soldier2.png");
-        content.loadTexture("EnemyMove1", "Soldier2Move.png");
-        content.loadTexture("EnemyAttack1", "Soldier2Attack.png");
+        content.loadRegion("Enemy2", "Soldier3.png");
+        content.loadRegion("EnemyMove2", "Soldier3Move.png");
+        content.loadRegion("EnemyAttack2", "Soldier3Attack.png");
 
-        content.loadTexture("Enemy2", "Soldier3.png");
-        content.loadTexture("EnemyMove2", "Soldier3Move.png");
-        content.loadTexture("EnemyAttack2", "Soldier3Attack.png");
+        content.loadRegion("AudioOn", "Icons/audioOn.png");
+        content.loadRegion("AudioOff", "Icons/audioOff.png");
 
-        content.loadTexture("AudioOn", "Icons/audioOn.png");
-        content.loadTexture("AudioOff", "Icons/audioOff.png");
+        content.loadRegion("MusicOn", "Icons/musicOn.png");
+        content.loadRegion("MusicOff", "Icons/musicOff.png");
 
-        content.loadTexture("MusicOn", "Icons/musicOn.png");
-        content.loadTexture("MusicOff", "Icons/musicOff.png");
+        content.loadRegion("Ladder", "Terrain/Ladder.png");
+        content.loadRegion("EndDoor", "Terrain/EndDoor.png");
+        content.loadRegion("SpearBlock", "Terrain/SpearBlock.png");
+        content.loadRegion("Wall", "Terrain/Wall.png");
+        content.loadRegion("BrokenWall", "Terrain/BrokenWall1.png");
+        content.loadRegion("BrokenWall1", "Terrain/BrokenWall2.png");
+        content.loadRegion("BrokenWall2", "Terrain/BrokenWall3.png");
+        content.loadRegion("Spikes", "Terrain/Spikes.png");
+        content.loadRegion("Ground", "Terrain/Ground.png");
+        content.loadRegion("Amulet", "Terrain/Amulet.png");
 
-        content.loadTexture("Ladder", "Terrain/Ladder.png");
-        content.loadTexture("EndDoor", "Terrain/EndDoor.png");
-        content.loadTexture("SpearBlock", "Terrain/SpearBlock.png");
-        content.loadTexture("Wall", "Terrain/Wall.png");
-        content.loadTexture("BrokenWall", "Terrain/BrokenWall1.png");
-        content.loadTexture("BrokenWall1", "Terrain/BrokenWall2.png");
-        content.loadTexture("BrokenWall2", "Terrain/BrokenWall3.png");
-        content.loadTexture("Spikes", "Terrain/Spikes.png");
-        content.loadTexture("Ground", "Terrain/Ground.png");
-        content.loadTexture("Amulet", "Terrain/Amulet.png");
+        // The outline is tiled across the whole world so it needs a texture of its own to repeat
+        content.loadTexture("Outline", "Terrain/BrokenWall2.png");
 
         content.loadFont("Ubuntu", "UbuntuBold.ttf", 20);
 
@@ -503,18 +543,22 @@ public class Play extends State {
         content.loadSound("Jump", "Jump.mp3");
     }
 
-    private void generateEntities() {
+    private void generateEntities(long seed) {
 
-        generator =  new TerrainGenerator(content);
+        generator =  new TerrainGenerator(content, seed);
 
-        Animation playerStill = new Animation(content.getTexture("PlayerIdle"), 1, 24, 0.2f);
+        Animation playerStill = new Animation(content.getRegion("PlayerIdle"), 1, 24, 0.2f);
 
-        Animation playerLeft = new Animation(content.getTexture("PlayerMove"), 1, 5, 0.1f);
-        Animation playerRight = new Animation(content.getTexture("PlayerMove"), 1, 5, 0.1f);
-        Animation playerPushLeft = new Animation(content.getTexture("PlayerPush"), 1, 5, 0.1f);
-        Animation playerPushRight = new Animation(content.getTexture("PlayerPush"), 1, 5, 0.1f);
-        Animation playerAttackLeft = new Animation(content.getTexture("PlayerAttackLeft"), 1, 4, 0.05f);
-        Animation playerAttackRight = new Animation(content.getTexture("PlayerAttackRight"), 1, 4, 0.05f);
+        // Left and right share their frames, only the flip differs
+        AnimationDef playerMove = new AnimationDef(content.getRegion("PlayerMove"), 1, 5, 0.1f);
+        AnimationDef playerPush = new AnimationDef(content.getRegion("PlayerPush"), 1, 5, 0.1f);
+
+        Animation playerLeft = new Animation(playerMove);
+        Animation playerRight = new Animation(playerMove);
+        Animation playerPushLeft = new Animation(playerPush);
+        Animation playerPushRight = new Animation(playerPush);
+        Animation playerAttackLeft = new Animation(content.getRegion("PlayerAttackLeft"), 1, 4, 0.05f);
+        Animation playerAttackRight = new Animation(content.getRegion("PlayerAttackRight"), 1, 4, 0.05f);
         playerAttackLeft.setOffset(-32, 0);
 
         playerLeft.setFlipX(true);
@@ -523,17 +567,18 @@ public class Play extends State {
         AABB aabb = new AABB(new Vector2(100, 100), new Vector2(16, 32));
         player = new Player(playerStill, "idle", aabb);
 
-        player.addAnimation("moveLeft", playerLeft);
-        player.addAnimation("moveRight", playerRight);
+        player.addAnimation(Player.MOVE_LEFT, "moveLeft", playerLeft);
+        player.addAnimation(Player.MOVE_RIGHT, "moveRight", playerRight);
 
-        player.addAnimation("pushLeft", playerPushLeft);
-        player.addAnimation("pushRight", playerPushRight);
+        player.addAnimation(Player.PUSH_LEFT, "pushLeft", playerPushLeft);
+        player.addAnimation(Player.PUSH_RIGHT, "pushRight", playerPushRight);
 
-        player.addAnimation("attackRight", playerAttackRight);
-        player.addAnimation("attackLeft", playerAttackLeft);
+        player.addAnimation(Player.ATTACK_RIGHT, "attackRight", playerAttackRight);
+        player.addAnimation(Player.ATTACK_LEFT, "attackLeft", playerAttackLeft);
         player.getSounds().add(content.getSound("Attack"));
         player.getSounds().add(content.getSound("Land"));
         player.getSounds().add(content.getSound("Jump"));
+        player.setControls(controls);
 
         player.setWeapon(new AABB(player.getAABB().getCentre().x, player.getAABB().getCentre().y + 4, 6, 3));
 
@@ -542,20 +587,35 @@ public class Play extends State {
 
 
         terrain = generator.getTerrain();
+        terrainCache = new TerrainCache(terrain, generator.getTextures(),
+                TerrainGenerator.ROOM_WIDTH, TerrainGenerator.ROOM_HEIGHT);
+        generator.prepareNext();
+
+        world = new World(terrain);
+        world.addDynamic(player);
+        world.addDynamic(enemies);
+        world.setTriggerListener(this);
+
+        combat = new Combat(player, world, Tile.SIZE * 2);
+        for(Enemy e : enemies) { combat.addEnemy(e); }
+        combat.setListener(this);
+        aggro = new Array<Enemy>(false, 16);
 
         player.setPosition(generator.getStartPosition());
 
-        musicToggle = new Button(new Animation(content.getTexture("MusicOn"), 1, 1), "On", new AABB(100, 100, 24, 24));
-        musicToggle.addAnimation("Off", new Animation(content.getTexture("MusicOff"), 1, 1));
+        musicToggle = new Button(new Animation(content.getRegion("MusicOn"), 1, 1), "On", new AABB(100, 100, 24, 24));
+        musicToggle.addAnimation(Button.OFF, "Off", new Animation(content.getRegion("MusicOff"), 1, 1));
 
-        audioToggle = new Button(new Animation(content.getTexture("AudioOn"), 1, 1), "On", new AABB(200, 100, 24, 24));
-        audioToggle.addAnimation("Off", new Animation(content.getTexture("AudioOff"), 1, 1));
+        audioToggle = new Button(new Animation(content.getRegion("AudioOn"), 1, 1), "On", new AABB(200, 100, 24, 24));
+        audioToggle.addAnimation(Button.OFF, "Off", new Animation(content.getRegion("AudioOff"), 1, 1));
     }
 
     public float getTime() { return timeTaken; }
     public Player getPlayer() { return player; }
-
-    public boolean isJustClicked() { return Gdx.input.isTouched() && !touched; }
+    public List<Enemy> getEnemies() { return enemies; }
+    public TileMap getTerrain() { return terrain; }
+    public TerrainGenerator getGenerator() { return generator; }
+    public int getLevelNumber() { return levelNumber; }
 
     public int getTotalKills() {
         return totalKills;
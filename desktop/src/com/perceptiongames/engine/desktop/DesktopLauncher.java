@@ -21,6 +21,17 @@ public class DesktopLauncher {
         config.forceExit = false;
 		//System.setProperty("org.lwjgl.opengl.Window.undecorated", "true");
 
-		new LwjglApplication(new Game(), config);
+		int tickRate = Game.DEFAULT_TICK_RATE;
+		String recording = null;
+		for (int i = 0; i + 1 < arg.length; i += 2) {
+			if(arg[i].equals("--tick-rate")) tickRate = Integer.parseInt(arg[i + 1]);
+			// Records the controls of the run to the given file, which the headless replay can play back
+			else if(arg[i].equals("--record")) recording = arg[i + 1];
+		}
+
+		Game game = new Game(tickRate);
+		if(recording != null) game.record(recording);
+
+		new LwjglApplication(game, config);
 	}
 }
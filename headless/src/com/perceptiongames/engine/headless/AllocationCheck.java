@@ -0,0 +1,77 @@
+package com.perceptiongames.engine.headless;
+
+import com.perceptiongames.engine.Entities.AABB;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks the AABB overlap and collision calls don't allocate, by counting the bytes this thread allocates across them <br>
+ *     Exits with 1 if any bytes were allocated, or 2 if the JVM can't count allocations
+ */
+public class AllocationCheck {
+
+    private static final int DEFAULT_CALLS = 1000000;
+
+    // Enough calls for the JIT to compile the loop before it is measured
+    private static final int WARMUP_CALLS = 200000;
+
+    public static void main(String[] arg) {
+        int calls = arg.length > 0 ? Integer.parseInt(arg[0]) : DEFAULT_CALLS;
+
+        if(!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("Error: This JVM can't count the bytes a thread allocates");
+            System.exit(2);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if(!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("Error: This JVM can't count the bytes a thread allocates");
+            System.exit(2);
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        AABB body = new AABB(0, 0, 16, 32);
+        AABB wall = new AABB(0, 0, 40, 40);
+        AABB sensor = new AABB(0, 0, 40, 40);
+        sensor.setSensor(true);
+
+        run(body, wall, sensor, WARMUP_CALLS);
+
+        long thread = Thread.currentThread().getId();
+
+        // Reading the counter can allocate, so measure that on its own and take it off
+        long before = threads.getThreadAllocatedBytes(thread);
+        long overhead = threads.getThreadAllocatedBytes(thread) - before;
+
+        before = threads.getThreadAllocatedBytes(thread);
+        int hits = run(body, wall, sensor, calls);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before - overhead;
+
+        System.out.println(calls + " rounds of overlaps and collide (" + hits + " hits): " + allocated + " bytes allocated");
+
+        if(allocated > 0) {
+            System.out.println("Error: AABB overlaps or collide allocated");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static int run(AABB body, AABB wall, AABB sensor, int calls) {
+        int hits = 0;
+        for (int i = 0; i < calls; i++) {
+            // Each side of the wall in turn, so every branch of collide is taken
+            float offset = (i & 1) == 0 ? 30 : -30;
+            if((i & 2) == 0) body.setCentre(offset, 0);
+            else body.setCentre(0, offset);
+            body.setCollisionFlags(0);
+
+            if(body.overlaps(wall)) hits++;
+            if(body.overlaps(sensor)) hits++;
+            if(body.overlaps(400, 400, 40, 40, false)) hits++;
+            if(body.overlaps(wall.getCentre().x, wall.getCentre().y, 40, 40, false)) hits++;
+            hits += body.getCollisionFlags() & 1;
+        }
+
+        return hits;
+    }
+}
@@ -0,0 +1,24 @@
+package com.perceptiongames.engine.headless;
+
+import com.perceptiongames.engine.Handlers.Controls;
+
+/**
+ * A simple fixed input pattern: run one way for four seconds then the other, jumping every second
+ * and swinging every other second <br>
+ *     Moves on from the end of level screen when it comes up
+ */
+public class DemoScript implements InputScript {
+
+    @Override
+    public int getControls(int tick) {
+        int state = (tick / 240) % 2 == 0 ? Controls.RIGHT : Controls.LEFT;
+
+        if(tick % 60 == 0) state |= Controls.JUMP;
+        if(tick % 120 == 30) state |= Controls.ATTACK;
+
+        // Respawns after dying and continues after the end of a level
+        if(tick % 60 == 45) state |= Controls.RESET;
+
+        return state;
+    }
+}
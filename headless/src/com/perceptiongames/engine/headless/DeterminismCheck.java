@@ -0,0 +1,39 @@
+package com.perceptiongames.engine.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Runs the same seed and input twice and checks both runs end in the same state <br>
+ *     Exits with 1 if the state hashes differ
+ */
+public class DeterminismCheck {
+
+    private static final int DEFAULT_TICKS = 3600;
+    private static final long DEFAULT_SEED = 1;
+
+    public static void main(String[] arg) throws InterruptedException {
+        int ticks = arg.length > 0 ? Integer.parseInt(arg[0]) : DEFAULT_TICKS;
+        long seed = arg.length > 1 ? Long.parseLong(arg[1]) : DEFAULT_SEED;
+
+        long first = run(seed, ticks);
+        long second = run(seed, ticks);
+
+        System.out.println("Seed " + seed + ", " + ticks + " ticks: "
+                + Long.toHexString(first) + " / " + Long.toHexString(second));
+
+        if(first != second) {
+            System.out.println("Error: the runs did not match");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static long run(long seed, int ticks) throws InterruptedException {
+        Simulation simulation = new Simulation(seed, ticks, new DemoScript());
+        new HeadlessApplication(simulation, new HeadlessApplicationConfiguration());
+        simulation.await();
+
+        return simulation.getStateHash();
+    }
+}
@@ -0,0 +1,22 @@
+package com.perceptiongames.engine.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+public class HeadlessLauncher {
+
+    // One minute of game time at 60 ticks per second
+    private static final int DEFAULT_TICKS = 3600;
+
+    public static void main(String[] arg) {
+        int ticks = arg.length > 0 ? Integer.parseInt(arg[0]) : DEFAULT_TICKS;
+        long seed = arg.length > 1 ? Long.parseLong(arg[1]) : System.nanoTime();
+
+        Simulation simulation = new Simulation(seed, ticks, new DemoScript());
+
+        // Saves the run so it can be replayed later
+        if(arg.length > 2) simulation.getGame().record(arg[2]);
+
+        new HeadlessApplication(simulation, new HeadlessApplicationConfiguration());
+    }
+}
@@ -0,0 +1,14 @@
+package com.perceptiongames.engine.headless;
+
+/**
+ * Feeds the controls to a headless simulation, one tick at a time
+ */
+public interface InputScript {
+
+    /**
+     * Called before each tick to get the controls for it
+     * @param tick The number of the tick about to run, starting from 0
+     * @return The bit mask of the Controls held during the tick
+     */
+    int getControls(int tick);
+}
@@ -0,0 +1,65 @@
+package com.perceptiongames.engine.headless;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * A GL20 which does nothing, so the game can create its batches, shaders and textures without a context <br>
+ *     Every call returns a default value, apart from the few the libGDX classes check to see if they worked
+ */
+public class NullGL implements InvocationHandler {
+
+    private int nextHandle = 1;
+
+    private NullGL() {}
+
+    /**
+     * Creates a new GL20 which ignores every call
+     * @return The GL20
+     */
+    public static GL20 create() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] { GL20.class }, new NullGL());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        Class<?> type = method.getReturnType();
+
+        if(name.equals("equals")) return proxy == args[0];
+        if(name.equals("hashCode")) return System.identityHashCode(proxy);
+        if(name.equals("toString")) return "NullGL";
+
+        // Frame buffers are rejected unless they report being complete
+        if(name.equals("glCheckFramebufferStatus")) return GL20.GL_FRAMEBUFFER_COMPLETE;
+
+        // Shaders and buffers are rejected if they get a handle of 0
+        if(type == int.class) return (name.startsWith("glCreate") || name.startsWith("glGen")) ? nextHandle++ : 0;
+
+        if(name.startsWith("glGet") && args != null && args[args.length - 1] instanceof IntBuffer) {
+            IntBuffer params = (IntBuffer) args[args.length - 1];
+            params.put(params.position(), getInteger((Integer) args[args.length - 2]));
+        }
+
+        if(type == boolean.class) return false;
+        if(type == float.class) return 0f;
+        if(type == String.class) return "";
+        return null;
+    }
+
+    private int getInteger(int name) {
+        switch (name) {
+            case GL20.GL_COMPILE_STATUS:
+            case GL20.GL_LINK_STATUS:
+                return 1;
+            case GL20.GL_MAX_TEXTURE_SIZE:
+                return 4096;
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.perceptiongames.engine.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.perceptiongames.engine.Handlers.InputRecording;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Replays recorded runs as fast as possible, at the tick rate they were recorded at, and prints the state each one ends in <br>
+ *     Takes the paths of one or more recordings
+ */
+public class ReplayLauncher {
+
+    public static void main(String[] arg) throws IOException, InterruptedException {
+        if(arg.length == 0) throw new IllegalArgumentException("Error: No recordings given");
+
+        for(String path : arg) {
+            InputRecording recording = InputRecording.read(new FileInputStream(path));
+
+            Simulation simulation = new Simulation(recording.getSeed(), recording.getLength(), new ReplayScript(recording),
+                    recording.getTickRate());
+            new HeadlessApplication(simulation, new HeadlessApplicationConfiguration());
+            simulation.await();
+
+            System.out.println(path + ": " + Long.toHexString(simulation.getStateHash()));
+        }
+
+        System.exit(0);
+    }
+}
@@ -0,0 +1,16 @@
+package com.perceptiongames.engine.headless;
+
+import com.perceptiongames.engine.Handlers.InputRecording;
+
+/**
+ * Plays back the controls from a recording
+ */
+public class ReplayScript implements InputScript {
+
+    private final InputRecording recording;
+
+    public ReplayScript(InputRecording recording) { this.recording = recording; }
+
+    @Override
+    public int getControls(int tick) { return recording.get(tick); }
+}
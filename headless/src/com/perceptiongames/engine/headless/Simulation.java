@@ -0,0 +1,108 @@
+package com.perceptiongames.engine.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.perceptiongames.engine.Game;
+import com.perceptiongames.engine.Handlers.Profiler;
+import com.perceptiongames.engine.States.Play;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs the game straight into Play for a fixed number of ticks, as fast as possible and without rendering
+ */
+public class Simulation extends ApplicationAdapter {
+
+    private final Game game;
+    private final InputScript script;
+
+    private final long seed;
+
+    private final int ticks;
+    private int tick;
+
+    private long stateHash;
+    private final CountDownLatch finished;
+
+    /**
+     * Creates a simulation at the default tick rate
+     * @param seed The seed the levels are generated from
+     * @param ticks The number of fixed time steps to run
+     * @param script The script which feeds the input
+     */
+    public Simulation(long seed, int ticks, InputScript script) { this(seed, ticks, script, Game.DEFAULT_TICK_RATE); }
+
+    /**
+     * Creates a simulation
+     * @param seed The seed the levels are generated from
+     * @param ticks The number of fixed time steps to run
+     * @param script The script which feeds the input
+     * @param tickRate The number of fixed time steps per second of game time
+     */
+    public Simulation(long seed, int ticks, InputScript script, int tickRate) {
+        this.seed = seed;
+        this.ticks = ticks;
+        this.script = script;
+
+        game = new Game(tickRate, seed);
+        tick = 0;
+
+        finished = new CountDownLatch(1);
+    }
+
+    @Override
+    public void create() {
+        GL20 gl = NullGL.create();
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+
+        game.create();
+        // Play sits on top of the menu, as the end of level states expect
+        game.getStateManager().pushPlay(seed);
+
+        // Run with -Dprofile=<file> to capture the time of every tick
+        if(System.getProperty("profile") != null) Profiler.startCapture();
+    }
+
+    @Override
+    public void render() {
+        // The exit is only handled after this frame, so there may be one more call
+        if(tick >= ticks) return;
+
+        long start = System.nanoTime();
+        while (tick < ticks) {
+            game.tick(script.getControls(tick));
+            Profiler.endFrame();
+            tick++;
+        }
+
+        float seconds = (System.nanoTime() - start) / 1e9f;
+        stateHash = StateHash.of(getPlay());
+        if(Profiler.isCapturing()) Profiler.stopCapture(new FileHandle(System.getProperty("profile")));
+        Gdx.app.log("Simulation", ticks + " ticks (" + (ticks * game.getDelta()) + "s of game time) in " + seconds + "s, "
+                + Math.round(ticks / seconds) + " ticks/s");
+        Gdx.app.log("Simulation", "Level " + getPlay().getLevelNumber() + ", " + getPlay().getPlayer().getNumberDeaths()
+                + " deaths, " + getPlay().getPlayer().getEnemiesKilled() + " kills, state " + Long.toHexString(stateHash));
+
+        Gdx.app.exit();
+    }
+
+    @Override
+    public void dispose() {
+        game.dispose();
+        finished.countDown();
+    }
+
+    /**
+     * Blocks until the simulation has finished and the application has shut down
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public void await() throws InterruptedException { finished.await(); }
+
+    public Game getGame() { return game; }
+    public Play getPlay() { return (Play) game.getStateManager().get(1); }
+    public int getTick() { return tick; }
+    public long getStateHash() { return stateHash; }
+}
@@ -0,0 +1,79 @@
+package com.perceptiongames.engine.headless;
+
+import com.perceptiongames.engine.Entities.Enemy;
+import com.perceptiongames.engine.Entities.Entity;
+import com.perceptiongames.engine.Entities.Player;
+import com.perceptiongames.engine.Handlers.Terrain.Tile;
+import com.perceptiongames.engine.Handlers.Terrain.TileMap;
+import com.perceptiongames.engine.States.Play;
+
+/**
+ * A 64 bit FNV-1a hash of everything in Play which the simulation changes <br>
+ *     Floats are hashed by their bits, so two runs only match if they are bit identical
+ */
+public class StateHash {
+
+    private static final long OFFSET = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash;
+
+    private StateHash() { hash = OFFSET; }
+
+    /**
+     * Hashes the state of a game in progress
+     * @param play The play state to hash
+     * @return The hash
+     */
+    public static long of(Play play) {
+        StateHash h = new StateHash();
+
+        h.add(play.getLevelNumber());
+        h.add(play.getGenerator().getSeed());
+        h.add(play.getTime());
+
+        Player player = play.getPlayer();
+        h.add(player);
+        h.add(player.getVelocity().x);
+        h.add(player.getVelocity().y);
+        h.add(player.getHealth());
+        h.add(player.getNumberDeaths());
+        h.add(player.getEnemiesKilled());
+        h.add(player.getSwing());
+
+        for(Enemy enemy : play.getEnemies()) {
+            h.add(enemy);
+            h.add(enemy.getCurrent());
+            h.add(enemy.getSwing());
+        }
+
+        TileMap terrain = play.getTerrain();
+        for(Tile tile : terrain.getDynamicTiles()) {
+            h.add(tile.getAABB().getMinX());
+            h.add(tile.getAABB().getMinY());
+            h.add(tile.isActive() ? 1 : 0);
+        }
+
+        return h.hash;
+    }
+
+    private void add(Entity entity) {
+        add(entity.getAABB().getMinX());
+        add(entity.getAABB().getMinY());
+        add(entity.isLive() ? 1 : 0);
+        add(entity.getAnimationKey().hashCode());
+    }
+
+    private void add(float value) { add(Float.floatToIntBits(value)); }
+    private void add(long value) {
+        add((int) value);
+        add((int) (value >>> 32));
+    }
+
+    private void add(int value) {
+        for (int i = 0; i < 4; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= PRIME;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.perceptiongames.engine.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.perceptiongames.engine.Entities.AABB;
+import com.perceptiongames.engine.Entities.Entity;
+import com.perceptiongames.engine.Handlers.Animation;
+import com.perceptiongames.engine.Handlers.Terrain.Tile;
+import com.perceptiongames.engine.Handlers.Terrain.TileMap;
+import com.perceptiongames.engine.Handlers.World;
+
+/**
+ * Checks a body pressed against a wall while falling fast slides down it and lands on the floor <br>
+ *     The fall is fast enough for World to sweep it, so the wall must only block the horizontal part of the move <br>
+ *     Exits with 1 if the body stops on the wall or goes through the floor
+ */
+public class WallSlideCheck {
+
+    private static final float TICK = 1 / 60f;
+
+    // Pushing left into the wall while falling, as fast as the reported case
+    private static final float VELOCITY_X = -500;
+    private static final float VELOCITY_Y = 2500;
+
+    private static final int ROWS = 8;
+    private static final int TICKS = 30;
+
+    public static void main(String[] arg) {
+        GdxNativesLoader.load();
+        GL20 gl = NullGL.create();
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+
+        // A wall down the left column and a floor along the bottom row
+        TileMap terrain = new TileMap(4, ROWS);
+        for (int row = 0; row < ROWS; row++) terrain.set(0, row, TileMap.WALL, 0, 0, 0);
+        for (int column = 1; column < 4; column++) terrain.set(column, ROWS - 1, TileMap.WALL, 0, 0, 0);
+
+        World world = new World(terrain);
+
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        Animation animation = new Animation(new Texture(pixmap), 1, 1);
+        pixmap.dispose();
+
+        // The same size as the player, flush against the wall
+        Entity body = new Entity(animation, "idle", new AABB(new Vector2(0, 0), new Vector2(16, 32))) {};
+        body.setPosition(Tile.SIZE, 0);
+        world.addDynamic(body);
+
+        float floor = (ROWS - 1) * Tile.SIZE - body.getAABB().getHeight();
+        for (int i = 0; i < TICKS; i++) {
+            float y = body.getY();
+            body.storePosition();
+            body.setPosition(body.getX() + VELOCITY_X * TICK, body.getY() + VELOCITY_Y * TICK);
+            world.step();
+
+            if(body.getX() != Tile.SIZE) fail("Tick " + i + ": the body left the wall, x is " + body.getX());
+            if(body.getY() > floor) fail("Tick " + i + ": the body went through the floor, y is " + body.getY());
+            if(body.getY() <= y && y < floor) fail("Tick " + i + ": the body stuck to the wall at y " + y);
+        }
+
+        if(body.getY() != floor) fail("The body stopped at y " + body.getY() + " rather than on the floor at " + floor);
+
+        System.out.println("Slid down the wall onto the floor at y " + floor + " in " + TICKS + " ticks");
+        System.exit(0);
+    }
+
+    private static void fail(String message) {
+        System.out.println("Error: " + message);
+        System.exit(1);
+    }
+}